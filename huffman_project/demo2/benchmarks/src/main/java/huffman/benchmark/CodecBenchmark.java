@@ -0,0 +1,75 @@
+package huffman.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import huffman.algorithm.Compressor;
+import huffman.algorithm.Decompressor;
+import huffman.model.EncodedText;
+
+// Encoding and decoding with a prebuilt tree. Throughput is in operations per second,
+// multiply by the size parameter to get characters per second.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+    // longest '0'/'1' string the VM can allocate
+    private static final long MAX_STRING_LENGTH = Integer.MAX_VALUE - 8;
+
+    // The encoded text as a '0'/'1' String for the string-based methods. Its setup fails with a
+    // message instead of overflowing when the string cannot exist, so those methods have to be
+    // excluded with -e at such sizes.
+    @State(Scope.Benchmark)
+    public static class StringForm {
+        public String encoded;
+
+        @Setup(Level.Trial)
+        public void setUp(CorpusState state){
+            if (state.encoded.getBitLength() > MAX_STRING_LENGTH){
+                throw new IllegalStateException(state.encoded.getBitLength() + " encoded bits of the " + state.corpus
+                        + " corpus at size " + state.size + " do not fit a String");
+            }
+            encoded = Compressor.compress(state.text, state.tree);
+        }
+    }
+
+    // the string form is not read, it only keeps this method away from sizes it cannot produce
+    @Benchmark
+    public String compressToString(CorpusState state, StringForm form){
+        return Compressor.compress(state.text, state.tree);
+    }
+
+    @Benchmark
+    public EncodedText compressToBits(CorpusState state){
+        return Compressor.compressToBits(state.text, state.tree);
+    }
+
+    // original prefix-string lookup, the baseline for both decoders below
+    @Benchmark
+    public String decompressReference(CorpusState state, StringForm form){
+        return Decompressor.decompressReference(form.encoded, state.tree);
+    }
+
+    @Benchmark
+    public String decompressString(CorpusState state, StringForm form){
+        return Decompressor.decompress(form.encoded, state.tree);
+    }
+
+    @Benchmark
+    public String decompressTable(CorpusState state){
+        return Decompressor.decompress(state.encoded, state.tree);
+    }
+}
@@ -0,0 +1,77 @@
+package huffman.benchmark;
+
+import java.util.Random;
+
+// Deterministic synthetic inputs so every run measures the same data.
+public final class Corpus {
+    private static final String[] WORDS = {
+            "the", "of", "and", "to", "in", "a", "is", "that", "for", "it", "as", "was", "with", "be", "by",
+            "on", "not", "he", "this", "are", "or", "his", "from", "at", "which", "but", "have", "an", "had",
+            "they", "you", "were", "their", "one", "all", "we", "can", "her", "has", "there", "been", "if",
+            "more", "when", "will", "would", "who", "so", "no", "Huffman", "coding", "compression", "tree",
+            "frequency", "symbol", "algorithm", "lossless", "data", "binary", "prefix", "code", "length"
+    };
+    private static final String[] SOURCE_LINES = {
+            "    public static int[] getFrequency(byte[] data, int offset, int length){",
+            "        for (int i=offset; i<offset+length; i++){",
+            "            histogram[data[i] & 0xFF]++;",
+            "        }",
+            "        return res;",
+            "    }",
+            "    @Override",
+            "    public String toString() {",
+            "        StringBuilder sb = new StringBuilder();",
+            "        if (node == null){return;}",
+            "import java.util.List;",
+            "        // merged nodes are produced in non-decreasing order",
+            "        HuffmanNode node1 = ll_nodes.removeFirst();",
+    };
+
+    private Corpus(){}
+
+    public static String text(String kind, int size){
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(size + 128);
+        switch (kind){
+            case "english":
+                while (sb.length() < size){
+                    sb.append(WORDS[(int) Math.min(WORDS.length - 1, Math.abs(random.nextGaussian()) * WORDS.length / 3)]);
+                    sb.append(random.nextInt(12) == 0 ? ". " : " ");
+                }
+                break;
+            case "source":
+                while (sb.length() < size){
+                    sb.append(SOURCE_LINES[random.nextInt(SOURCE_LINES.length)]).append('\n');
+                }
+                break;
+            case "random":
+                while (sb.length() < size){
+                    sb.append((char) random.nextInt(256));
+                }
+                break;
+            case "skewed":
+                // geometric distribution: each next symbol half as likely as the previous one
+                while (sb.length() < size){
+                    int symbol = 0;
+                    while (symbol < 40 && random.nextBoolean()){
+                        symbol++;
+                    }
+                    sb.append((char) ('!' + symbol));
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("unknown corpus " + kind);
+        }
+        sb.setLength(size);
+        return sb.toString();
+    }
+
+    public static byte[] bytes(String kind, int size){
+        String text = text(kind, size);
+        byte[] res = new byte[size];
+        for (int i=0; i<size; i++){
+            res[i] = (byte) text.charAt(i);
+        }
+        return res;
+    }
+}
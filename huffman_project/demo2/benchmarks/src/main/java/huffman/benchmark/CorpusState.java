@@ -0,0 +1,55 @@
+package huffman.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import huffman.algorithm.Compressor;
+import huffman.algorithm.SortedNodesCreator;
+import huffman.algorithm.TextToListOfCharacter;
+import huffman.algorithm.TreeBuilder;
+import huffman.model.EncodedText;
+import huffman.model.HuffmanNode;
+import huffman.model.HuffmanTree;
+
+// Sizes up to 1 GB can be selected with -p size=1073741824 (needs a heap several times larger,
+// the list of characters alone takes several GB). The '0'/'1' string form used by some codec
+// benchmarks stops fitting a String at 256 MB for the random corpus and at 1 GB for all of them,
+// see CodecBenchmark.StringForm.
+@State(Scope.Benchmark)
+public class CorpusState {
+    @Param({"english", "source", "random", "skewed"})
+    public String corpus;
+
+    @Param({"1024", "1048576", "16777216"})
+    public int size;
+
+    public String text;
+    public byte[] bytes;
+    public List<Character> characters;
+    public List<HuffmanNode> sortedNodes;
+    // the same leaves in a fixed random order, input for the sort benchmarks
+    public List<HuffmanNode> shuffledNodes;
+    public HuffmanTree tree;
+    public EncodedText encoded;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        text = Corpus.text(corpus, size);
+        bytes = Corpus.bytes(corpus, size);
+        characters = TextToListOfCharacter.TextFormatModifier(text);
+        sortedNodes = SortedNodesCreator.sort(text);
+        shuffledNodes = new ArrayList<>(sortedNodes);
+        Collections.shuffle(shuffledNodes, new Random(42));
+        tree = TreeBuilder.buildHuffmanTree(text);
+        tree.generateMycode();
+        encoded = Compressor.compressToBits(text, tree);
+    }
+}
@@ -0,0 +1,83 @@
+package huffman.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import huffman.algorithm.BitWriter;
+import huffman.algorithm.ByteCompressor;
+import huffman.algorithm.ByteFrequencyCounter;
+import huffman.algorithm.Compressor;
+import huffman.model.CodeTable;
+
+// Steady-state encoding into reused buffers: gc.alloc.rate.norm should stay near 0 B/op.
+// The buffers are sized from the exact encoded lengths, so they fit up to the 1 GB corpus.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodeBenchmark {
+    private static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    @State(Scope.Thread)
+    public static class Buffers {
+        public BitWriter writer;
+        public byte[] output;
+        public char[] chars;
+        public CodeTable charTable;
+        public CodeTable byteTable;
+
+        @Setup(Level.Trial)
+        public void setUp(CorpusState state){
+            chars = state.text.toCharArray();
+            charTable = state.tree.getCodeTable();
+            int[] byteFrequencies = ByteFrequencyCounter.getFrequency(state.bytes);
+            byteTable = ByteCompressor.buildCode(byteFrequencies);
+            long byteBits = 0;
+            for (int b=0; b<byteFrequencies.length; b++){
+                if (byteFrequencies[b] > 0){
+                    byteBits += (long) byteFrequencies[b] * byteTable.getLength(b);
+                }
+            }
+            // padding plus the 4-byte steps the writer grows in
+            long capacity = (Math.max(state.encoded.getBitLength(), byteBits) + 7) / 8 + 8;
+            if (capacity > MAX_ARRAY_LENGTH){
+                throw new IllegalStateException(capacity + " encoded bytes do not fit an array");
+            }
+            writer = new BitWriter((int) capacity);
+            output = new byte[(int) capacity];
+        }
+    }
+
+    @Benchmark
+    public int charSequence(CorpusState state, Buffers buffers){
+        buffers.writer.reset();
+        Compressor.compress(state.text, 0, state.text.length(), buffers.charTable, buffers.writer);
+        return buffers.writer.writeTo(buffers.output, 0);
+    }
+
+    @Benchmark
+    public int charArray(Buffers buffers){
+        buffers.writer.reset();
+        Compressor.compress(buffers.chars, 0, buffers.chars.length, buffers.charTable, buffers.writer);
+        return buffers.writer.writeTo(buffers.output, 0);
+    }
+
+    @Benchmark
+    public int byteArray(CorpusState state, Buffers buffers){
+        buffers.writer.reset();
+        ByteCompressor.compress(state.bytes, 0, state.bytes.length, buffers.byteTable, buffers.writer);
+        return buffers.writer.writeTo(buffers.output, 0);
+    }
+}
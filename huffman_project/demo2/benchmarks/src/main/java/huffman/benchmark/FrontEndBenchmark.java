@@ -0,0 +1,69 @@
+package huffman.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import huffman.algorithm.ByteFrequencyCounter;
+import huffman.algorithm.FrequencyCounter;
+import huffman.algorithm.MergeSort;
+import huffman.algorithm.SortedNodesCreator;
+import huffman.algorithm.TextToListOfCharacter;
+import huffman.model.HuffmanNode;
+
+// Input preparation stages: char list conversion, counting and sorting.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrontEndBenchmark {
+    @Benchmark
+    public List<Character> textToListOfCharacter(CorpusState state){
+        return TextToListOfCharacter.TextFormatModifier(state.text);
+    }
+
+    @Benchmark
+    public HashMap<Character,Integer> frequencyCounter(CorpusState state){
+        return FrequencyCounter.getFrequency(state.characters);
+    }
+
+    @Benchmark
+    public int[] frequencyCounterParallel(CorpusState state){
+        return FrequencyCounter.getFrequencyParallel(state.text);
+    }
+
+    @Benchmark
+    public int[] byteFrequencyCounter(CorpusState state){
+        return ByteFrequencyCounter.getFrequency(state.bytes);
+    }
+
+    @Benchmark
+    public int[] byteFrequencyCounterParallel(CorpusState state){
+        return ByteFrequencyCounter.getFrequencyParallel(state.bytes);
+    }
+
+    @Benchmark
+    public List<HuffmanNode> sortedNodesCreator(CorpusState state){
+        return SortedNodesCreator.sort(state.text);
+    }
+
+    @Benchmark
+    public List<HuffmanNode> mergeSort(CorpusState state){
+        return MergeSort.mergeSort(new ArrayList<>(state.shuffledNodes));
+    }
+
+    @Benchmark
+    public List<HuffmanNode> mergeSortReference(CorpusState state){
+        return MergeSort.mergeSortReference(new ArrayList<>(state.shuffledNodes));
+    }
+}
@@ -0,0 +1,55 @@
+package huffman.benchmark;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import huffman.algorithm.CodeGenerator;
+import huffman.algorithm.LinearTreeBuilder;
+import huffman.algorithm.StepRecorder;
+import huffman.algorithm.TreeBuilder;
+import huffman.model.CodeTable;
+import huffman.model.HuffmanTree;
+
+// Tree construction and code generation from already sorted leaves; treeBuilderReference is
+// the original list-insertion builder the others are measured against.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreeBenchmark {
+    @Benchmark
+    public HuffmanTree treeBuilder(CorpusState state){
+        return TreeBuilder.buildHuffmanTree(state.sortedNodes);
+    }
+
+    @Benchmark
+    public HuffmanTree treeBuilderRecording(CorpusState state){
+        return TreeBuilder.buildHuffmanTree(state.sortedNodes, StepRecorder.REPLAY);
+    }
+
+    @Benchmark
+    public HuffmanTree treeBuilderReference(CorpusState state){
+        return TreeBuilder.buildHuffmanTreeReference(state.sortedNodes);
+    }
+
+    @Benchmark
+    public HashMap<Character,String> codeGenerator(CorpusState state){
+        HashMap<Character,String> res = new HashMap<>();
+        CodeGenerator.generateCode(state.tree.getRoot(), res, "");
+        return res;
+    }
+
+    @Benchmark
+    public CodeTable canonicalCode(CorpusState state){
+        return LinearTreeBuilder.build(state.sortedNodes).toCodeTable();
+    }
+}
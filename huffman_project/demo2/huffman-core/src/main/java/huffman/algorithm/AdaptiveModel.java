@@ -0,0 +1,101 @@
+package huffman.algorithm;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import huffman.model.CodeTable;
+
+// Byte model shared by the adaptive encoder and decoder. Both sides start from uniform counts,
+// update them after every symbol and rebuild the canonical code every `interval` symbols, so
+// they always agree on the code without it ever being transmitted.
+public class AdaptiveModel {
+    public static final int EOF = 256;
+    public static final int SYNC = 257;
+    public static final int ALPHABET_SIZE = 258;
+    public static final int MAX_CODE_LENGTH = 15;
+    private static final int RESCALE_LIMIT = 1 << 20;
+
+    public interface BitInput {
+        int readBit() throws IOException;
+    }
+
+    private final int interval;
+    private final int[] counts = new int[ALPHABET_SIZE];
+    private int total = 0;
+    private int sinceRebuild = 0;
+    private CodeTable table;
+    private long[] codes;
+    private byte[] lengths;
+    private int[] sortedSymbols;
+    private long[] firstCode = new long[MAX_CODE_LENGTH + 1];
+    private int[] firstIndex = new int[MAX_CODE_LENGTH + 1];
+    private int[] lengthCount = new int[MAX_CODE_LENGTH + 1];
+
+    public AdaptiveModel(int interval){
+        if (interval < 1){
+            throw new IllegalArgumentException("rebuild interval must be at least 1");
+        }
+        this.interval = interval;
+        for (int i=0; i<ALPHABET_SIZE; i++){
+            counts[i] = 1;
+        }
+        total = ALPHABET_SIZE;
+        rebuild();
+    }
+
+    public int getInterval(){return interval;}
+    public CodeTable getCodeTable(){return table;}
+
+    public void encode(int symbol, BitWriter out){
+        out.write(codes[symbol], lengths[symbol]);
+        update(symbol);
+    }
+
+    // reads exactly the bits of one code, never ahead of it, so it is safe on live streams
+    public int decode(BitInput in) throws IOException {
+        long code = 0;
+        for (int length=1; length<=MAX_CODE_LENGTH; length++){
+            code = (code << 1) | in.readBit();
+            long index = code - firstCode[length];
+            if (index >= 0 && index < lengthCount[length]){
+                int symbol = sortedSymbols[firstIndex[length] + (int) index];
+                update(symbol);
+                return symbol;
+            }
+        }
+        throw new IOException("invalid adaptive code");
+    }
+
+    private void update(int symbol){
+        counts[symbol]++;
+        total++;
+        if (++sinceRebuild == interval){
+            if (total > RESCALE_LIMIT){
+                total = 0;
+                for (int i=0; i<ALPHABET_SIZE; i++){
+                    counts[i] = (counts[i] + 1) / 2;
+                    total += counts[i];
+                }
+            }
+            rebuild();
+        }
+    }
+
+    private void rebuild(){
+        sinceRebuild = 0;
+        table = LengthLimitedCode.buildCode(counts, MAX_CODE_LENGTH);
+        codes = table.codes();
+        lengths = table.lengths();
+        sortedSymbols = table.getSymbols();
+        Arrays.fill(lengthCount, 0);
+        for (int symbol : sortedSymbols){
+            lengthCount[lengths[symbol]]++;
+        }
+        int index = 0;
+        for (int length=1; length<=MAX_CODE_LENGTH; length++){
+            firstIndex[length] = index;
+            firstCode[length] = lengthCount[length] > 0 ? codes[sortedSymbols[index]] : Long.MAX_VALUE;
+            index += lengthCount[length];
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package huffman.algorithm;
+
+import huffman.model.EncodedText;
+
+public class BitReader {
+    private final byte[] data;
+    private final long endBit;
+    private final int endByte;
+    private int nextByte;
+    private long buffer = 0;
+    private int available = 0;
+    private long position;
+
+    public BitReader(EncodedText encoded){
+        this(encoded.getData(), 0, encoded.getBitLength());
+    }
+
+    public BitReader(byte[] data, long startBit, long endBit){
+        if (startBit < 0 || startBit > endBit || (endBit + 7) / 8 > data.length){
+            throw new IllegalArgumentException("bit range [" + startBit + "," + endBit + ") outside of " + data.length + " bytes");
+        }
+        this.data = data;
+        this.endBit = endBit;
+        this.endByte = (int) ((endBit + 7) >>> 3);
+        this.nextByte = (int) (startBit >>> 3);
+        this.position = startBit;
+        int skip = (int) (startBit & 7);
+        refill();
+        buffer <<= skip;
+        available -= skip;
+    }
+
+    // keeps at least 57 bits in the buffer, bits past the end read as zeros
+    void refill(){
+        while (available <= 56){
+            long b = nextByte < endByte ? data[nextByte] & 0xFF : 0;
+            buffer |= b << (56 - available);
+            available += 8;
+            nextByte++;
+        }
+    }
+
+    public long peek(int count){
+        if (available < count){refill();}
+        return buffer >>> (64 - count);
+    }
+
+    public void skip(int count){
+        buffer <<= count;
+        available -= count;
+        position += count;
+    }
+
+    public long readBits(int count){
+        if (count == 0){return 0;}
+        long res = peek(count);
+        skip(count);
+        return res;
+    }
+
+    public boolean readBit(){
+        return readBits(1) != 0;
+    }
+
+    public long getPosition(){return position;}
+    public long getEndBit(){return endBit;}
+
+    public long remaining(){
+        return endBit - position;
+    }
+}
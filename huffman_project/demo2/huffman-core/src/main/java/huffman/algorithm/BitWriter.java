@@ -0,0 +1,111 @@
+package huffman.algorithm;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import huffman.model.EncodedText;
+
+public class BitWriter {
+    private byte[] buffer;
+    private int position = 0;
+    private long accumulator = 0;
+    private int pendingBits = 0;
+    private long bitLength = 0;
+
+    public BitWriter(){
+        this(64);
+    }
+
+    public BitWriter(int initialCapacity){
+        this.buffer = new byte[Math.max(8, initialCapacity)];
+    }
+
+    public void write(long code, int length){
+        if (length == 0){return;}
+        if (length > 32){
+            write(code >>> 32, length-32);
+            length = 32;
+        }
+        accumulator = (accumulator << length) | (code & (-1L >>> (64-length)));
+        pendingBits += length;
+        bitLength += length;
+        if (pendingBits >= 32){
+            pendingBits -= 32;
+            ensureCapacity(4);
+            int word = (int) (accumulator >>> pendingBits);
+            buffer[position] = (byte) (word >>> 24);
+            buffer[position+1] = (byte) (word >>> 16);
+            buffer[position+2] = (byte) (word >>> 8);
+            buffer[position+3] = (byte) word;
+            position += 4;
+        }
+    }
+
+    public void writeBit(boolean bit){
+        write(bit ? 1 : 0, 1);
+    }
+
+    public long getBitLength(){return bitLength;}
+
+    // complete bytes held in the buffer, since creation or the last drainTo
+    public int getBufferedBytes(){return position;}
+
+    public int getByteLength(){
+        return (int) ((bitLength + 7) >>> 3);
+    }
+
+    // pads with zeros up to the next byte boundary
+    public void alignToByte(){
+        int padding = (int) ((8 - (bitLength & 7)) & 7);
+        write(0, padding);
+    }
+
+    // writes every complete byte to out and drops it from the buffer, less than 8 bits stay pending
+    public void drainTo(OutputStream out) throws IOException {
+        while (pendingBits >= 8){
+            pendingBits -= 8;
+            ensureCapacity(1);
+            buffer[position++] = (byte) (accumulator >>> pendingBits);
+        }
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+
+    // flushes the pending bits, the last byte is padded with zeros
+    public byte[] toByteArray(){
+        byte[] res = new byte[position + (pendingBits + 7) / 8];
+        writeTo(res, 0);
+        return res;
+    }
+
+    // copies the packed bytes (last one zero padded) into dst without allocating, returns how many were copied
+    public int writeTo(byte[] dst, int offset){
+        System.arraycopy(buffer, 0, dst, offset, position);
+        int p = offset + position;
+        int bits = pendingBits;
+        while (bits > 0){
+            int shift = bits - 8;
+            dst[p++] = (byte) (shift >= 0 ? accumulator >>> shift : accumulator << -shift);
+            bits -= 8;
+        }
+        return p - offset;
+    }
+
+    public EncodedText toEncodedText(int symbolCount){
+        return new EncodedText(toByteArray(), bitLength, symbolCount);
+    }
+
+    public void reset(){
+        position = 0;
+        accumulator = 0;
+        pendingBits = 0;
+        bitLength = 0;
+    }
+
+    private void ensureCapacity(int extra){
+        if (position + extra > buffer.length){
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length*2, position+extra));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package huffman.algorithm;
+
+import java.nio.ByteBuffer;
+
+import huffman.model.CodeTable;
+import huffman.model.EncodedText;
+
+public class ByteCompressor {
+    public static CodeTable buildCode(int[] frequencies){
+        return LinearTreeBuilder.build(frequencies).toCodeTable();
+    }
+
+    public static CodeTable buildCode(int[] frequencies, int maxLength){
+        return LengthLimitedCode.buildCode(frequencies, maxLength);
+    }
+
+    public static EncodedText compress(byte[] data, CodeTable table){
+        BitWriter writer = new BitWriter(data.length/2);
+        compress(data, 0, data.length, table, writer);
+        return writer.toEncodedText(data.length);
+    }
+
+    public static void compress(byte[] data, int offset, int length, CodeTable table, BitWriter writer){
+        long[] codes = table.codes();
+        byte[] lengths = table.lengths();
+        for (int i=offset; i<offset+length; i++){
+            int b = data[i] & 0xFF;
+            if (b >= lengths.length || lengths[b] == 0){
+                throw new IllegalArgumentException("byte " + b + " has no code in this table");
+            }
+            writer.write(codes[b], lengths[b]);
+        }
+    }
+
+    // encodes src[position, limit) into dst from its position, e.g. a mapped file into a direct buffer.
+    // Neither buffer is copied to the heap; returns the number of bits written, the last byte is zero padded.
+    public static long compress(ByteBuffer src, CodeTable table, ByteBuffer dst){
+        long[] codes = table.codes();
+        byte[] lengths = table.lengths();
+        long accumulator = 0;
+        int pending = 0;
+        long bits = 0;
+        for (int i=src.position(); i<src.limit(); i++){
+            int b = src.get(i) & 0xFF;
+            int length = b < lengths.length ? lengths[b] : 0;
+            if (length == 0 || length > 32){
+                throw new IllegalArgumentException("byte " + b + " has no code of at most 32 bits in this table");
+            }
+            accumulator = (accumulator << length) | codes[b];
+            pending += length;
+            bits += length;
+            if (pending >= 32){
+                pending -= 32;
+                dst.putInt((int) (accumulator >>> pending));
+            }
+        }
+        while (pending > 0){
+            int shift = pending - 8;
+            dst.put((byte) (shift >= 0 ? accumulator >>> shift : accumulator << -shift));
+            pending -= 8;
+        }
+        return bits;
+    }
+}
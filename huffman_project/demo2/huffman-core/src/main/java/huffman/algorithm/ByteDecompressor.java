@@ -0,0 +1,16 @@
+package huffman.algorithm;
+
+import huffman.model.CodeTable;
+import huffman.model.EncodedText;
+
+public class ByteDecompressor {
+    public static byte[] decompress(EncodedText encoded, CodeTable table){
+        byte[] res = new byte[encoded.getSymbolCount()];
+        decompress(encoded, new TableDecoder(table), res, 0);
+        return res;
+    }
+
+    public static void decompress(EncodedText encoded, TableDecoder decoder, byte[] out, int offset){
+        decoder.decode(new BitReader(encoded), out, offset, encoded.getSymbolCount());
+    }
+}
@@ -0,0 +1,87 @@
+package huffman.algorithm;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+public class ByteFrequencyCounter {
+    private static final long MAP_REGION = 1L << 30;
+
+    public static int[] getFrequency(byte[] data){
+        return getFrequency(data, 0, data.length);
+    }
+
+    public static int[] getFrequency(byte[] data, int offset, int length){
+        int[] res = new int[256];
+        count(data, offset, offset+length, res);
+        return res;
+    }
+
+    // counts the remaining bytes of the buffer without moving its position
+    public static int[] getFrequency(ByteBuffer data){
+        int[] res = new int[256];
+        count(data, data.position(), data.limit(), res);
+        return res;
+    }
+
+    public static int[] getFrequencyParallel(byte[] data){
+        return getFrequencyParallel(data, ForkJoinPool.commonPool());
+    }
+
+    public static int[] getFrequencyParallel(byte[] data, ForkJoinPool pool){
+        return HistogramTask.count(pool, (from, to, h) -> count(data, from, to, h), 0, data.length, 256);
+    }
+
+    public static int[] getFrequencyParallel(ByteBuffer data, ForkJoinPool pool){
+        return HistogramTask.count(pool, (from, to, h) -> count(data, from, to, h), data.position(), data.limit(), 256);
+    }
+
+    // maps the file region by region, counts can exceed an int for files over 2 GiB
+    public static long[] getFrequencyParallel(Path file, ForkJoinPool pool) throws IOException {
+        long[] res = new long[256];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position=0; position<size; position+=MAP_REGION){
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_REGION, size - position));
+                int[] counts = getFrequencyParallel(region, pool);
+                for (int i=0; i<256; i++){
+                    res[i] += counts[i];
+                }
+            }
+        }
+        return res;
+    }
+
+    // scales counts down until they fit the int frequencies of the tree, present symbols keep at least 1
+    public static int[] toIntFrequencies(long[] counts){
+        long total = 0;
+        for (long c : counts){
+            total += c;
+        }
+        int shift = 0;
+        while ((total >>> shift) > Integer.MAX_VALUE - counts.length){
+            shift++;
+        }
+        int[] res = new int[counts.length];
+        for (int i=0; i<counts.length; i++){
+            res[i] = counts[i] == 0 ? 0 : (int) Math.max(1, counts[i] >>> shift);
+        }
+        return res;
+    }
+
+    private static void count(byte[] data, int from, int to, int[] histogram){
+        for (int i=from; i<to; i++){
+            histogram[data[i] & 0xFF]++;
+        }
+    }
+
+    private static void count(ByteBuffer data, int from, int to, int[] histogram){
+        for (int i=from; i<to; i++){
+            histogram[data.get(i) & 0xFF]++;
+        }
+    }
+}
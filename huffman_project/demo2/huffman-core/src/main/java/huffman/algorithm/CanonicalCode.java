@@ -0,0 +1,111 @@
+package huffman.algorithm;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import huffman.model.CodeTable;
+import huffman.model.HuffmanNode;
+
+public class CanonicalCode {
+    public static final int MAX_CODE_LENGTH = 64;
+
+    // codes are handed out in (length, symbol) order, so the lengths alone define the whole code
+    public static CodeTable fromLengths(int[] symbols, int[] lengths){
+        if (symbols.length != lengths.length){
+            throw new IllegalArgumentException("symbols and lengths differ in size");
+        }
+        long[] order = new long[symbols.length];
+        for (int i=0; i<order.length; i++){
+            if (lengths[i] < 1 || lengths[i] > MAX_CODE_LENGTH){
+                throw new IllegalArgumentException("invalid code length " + lengths[i] + " for symbol " + symbols[i]);
+            }
+            if (symbols[i] < 0){
+                throw new IllegalArgumentException("negative symbol " + symbols[i]);
+            }
+            order[i] = ((long) lengths[i] << 32) | symbols[i];
+        }
+        Arrays.sort(order);
+
+        int[] sortedSymbols = new int[symbols.length];
+        long[] codes = new long[symbols.length];
+        byte[] sortedLengths = new byte[symbols.length];
+        long code = 0;
+        int prevLength = 0;
+        for (int i=0; i<order.length; i++){
+            int length = (int) (order[i] >>> 32);
+            if (i > 0){
+                code++;
+            }
+            code <<= (length - prevLength);
+            if (length < MAX_CODE_LENGTH && (code >>> length) != 0){
+                throw new IllegalArgumentException("code lengths oversubscribe the code space");
+            }
+            prevLength = length;
+            sortedSymbols[i] = (int) order[i];
+            codes[i] = code;
+            sortedLengths[i] = (byte) length;
+        }
+        return new CodeTable(sortedSymbols, codes, sortedLengths);
+    }
+
+    public static CodeTable fromLengths(Map<Character,Integer> lengthMap){
+        int[] symbols = new int[lengthMap.size()];
+        int[] lengths = new int[lengthMap.size()];
+        int i = 0;
+        for (Map.Entry<Character,Integer> e : lengthMap.entrySet()){
+            symbols[i] = e.getKey();
+            lengths[i] = e.getValue();
+            i++;
+        }
+        return fromLengths(symbols, lengths);
+    }
+
+    public static CodeTable fromTree(HuffmanNode root){
+        HashMap<Character,Integer> lengths = new HashMap<>();
+        CodeGenerator.generateLengths(root, lengths, 0);
+        return fromLengths(lengths);
+    }
+
+    // rebuilds a node tree whose paths follow the canonical codes, leaf frequencies are taken from frequencyMap
+    public static HuffmanNode toTree(CodeTable table, Map<Character,Integer> frequencyMap){
+        HuffmanNode root = new HuffmanNode(null, 0);
+        for (int i=0; i<table.size(); i++){
+            int symbol = table.getSymbol(i);
+            long code = table.getCode(symbol);
+            int length = table.getLength(symbol);
+            HuffmanNode curr = root;
+            for (int bit=length-1; bit>0; bit--){
+                boolean right = ((code >>> bit) & 1) != 0;
+                HuffmanNode next = right ? curr.getRight() : curr.getLeft();
+                if (next == null){
+                    next = new HuffmanNode(null, 0);
+                    if (right){curr.setRight(next);} else {curr.setLeft(next);}
+                }
+                curr = next;
+            }
+            HuffmanNode leaf = new HuffmanNode((char) symbol, frequencyMap.getOrDefault((char) symbol, 0));
+            if ((code & 1) != 0){curr.setRight(leaf);} else {curr.setLeft(leaf);}
+        }
+        if (table.size() == 1){
+            return root.getLeft();
+        }
+        sumFrequencies(root);
+        return root;
+    }
+
+    private static int sumFrequencies(HuffmanNode node){
+        if (node == null){return 0;}
+        if (node.isLeaf()){return node.getFrequency();}
+        node.setFrequency(sumFrequencies(node.getLeft()) + sumFrequencies(node.getRight()));
+        return node.getFrequency();
+    }
+
+    public static String toCodeString(long code, int length){
+        StringBuilder sb = new StringBuilder(length);
+        for (int bit=length-1; bit>=0; bit--){
+            sb.append(((code >>> bit) & 1) != 0 ? '1' : '0');
+        }
+        return sb.toString();
+    }
+}
@@ -15,4 +15,16 @@ public class CodeGenerator {
         generateCode(tree.getRight(), codeMap, encoding+"1");
 
     }
+
+    public static void generateLengths(HuffmanNode tree,HashMap<Character,Integer> lengthMap,int depth){
+
+        if (tree.isLeaf()){
+            lengthMap.put(tree.getCharacter(),Math.max(1, depth));
+            return;
+        }
+        generateLengths(tree.getLeft(), lengthMap, depth+1);
+        generateLengths(tree.getRight(), lengthMap, depth+1);
+
+    }
+
 }
\ No newline at end of file
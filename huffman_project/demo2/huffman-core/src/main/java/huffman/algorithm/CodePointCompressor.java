@@ -0,0 +1,67 @@
+package huffman.algorithm;
+
+import huffman.model.CodePointAlphabet;
+import huffman.model.CodeTable;
+import huffman.model.EncodedText;
+import huffman.model.IntIntMap;
+
+// Text coded per code point instead of per UTF-16 unit: an emoji gets one code rather than one
+// for each surrogate half. Codes are over the dense ids of a CodePointAlphabet.
+public class CodePointCompressor {
+    public static CodePointAlphabet buildAlphabet(IntIntMap frequencies){
+        return new CodePointAlphabet(frequencies.keys());
+    }
+
+    public static CodeTable buildCode(CodePointAlphabet alphabet, IntIntMap frequencies){
+        return ByteCompressor.buildCode(idFrequencies(alphabet, frequencies));
+    }
+
+    public static CodeTable buildCode(CodePointAlphabet alphabet, IntIntMap frequencies, int maxLength){
+        return ByteCompressor.buildCode(idFrequencies(alphabet, frequencies), maxLength);
+    }
+
+    private static int[] idFrequencies(CodePointAlphabet alphabet, IntIntMap frequencies){
+        int[] res = new int[alphabet.size()];
+        for (int id=0; id<res.length; id++){
+            res[id] = frequencies.get(alphabet.getCodePoint(id), 0);
+        }
+        return res;
+    }
+
+    // symbol count of the result is the number of code points
+    public static EncodedText compress(CharSequence text, CodePointAlphabet alphabet, CodeTable table){
+        BitWriter writer = new BitWriter(text.length()/2);
+        int count = compress(text, 0, text.length(), alphabet, table, writer);
+        return writer.toEncodedText(count);
+    }
+
+    // appends the codes of text[from, to) to writer and returns how many code points were written
+    public static int compress(CharSequence text, int from, int to, CodePointAlphabet alphabet, CodeTable table, BitWriter writer){
+        long[] codes = table.codes();
+        byte[] lengths = table.lengths();
+        int count = 0;
+        for (int i=from; i<to; i++){
+            int cp = text.charAt(i);
+            if (Character.isHighSurrogate((char) cp) && i + 1 < to && Character.isLowSurrogate(text.charAt(i + 1))){
+                cp = Character.toCodePoint((char) cp, text.charAt(++i));
+            }
+            int id = alphabet.indexOf(cp);
+            if (id < 0 || id >= lengths.length || lengths[id] == 0){
+                throw new IllegalArgumentException("code point U+" + Integer.toHexString(cp).toUpperCase() + " has no code in this table");
+            }
+            writer.write(codes[id], lengths[id]);
+            count++;
+        }
+        return count;
+    }
+
+    public static String decompress(EncodedText encoded, CodePointAlphabet alphabet, TableDecoder decoder){
+        int[] ids = new int[encoded.getSymbolCount()];
+        decoder.decode(new BitReader(encoded), ids, 0, ids.length);
+        StringBuilder res = new StringBuilder(ids.length);
+        for (int id : ids){
+            res.appendCodePoint(alphabet.getCodePoint(id));
+        }
+        return res.toString();
+    }
+}
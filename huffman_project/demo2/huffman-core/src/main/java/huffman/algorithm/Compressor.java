@@ -0,0 +1,50 @@
+package huffman.algorithm;
+
+import java.util.HashMap;
+
+import huffman.model.CodeTable;
+import huffman.model.EncodedText;
+import huffman.model.HuffmanTree;
+
+public class Compressor {
+    // '0'/'1' view of the encoded text, one char per bit: only meant for display and debugging
+    public static String compress(String text,HuffmanTree tree){
+        StringBuilder res = new StringBuilder();
+        HashMap<Character,String> code = tree.getCode();
+        for (char c : text.toCharArray()){
+            res.append(code.get(c));
+        }
+        return res.toString();
+    }
+
+    public static EncodedText compressToBits(String text,HuffmanTree tree){
+        BitWriter writer = new BitWriter(text.length()/2);
+        compress(text, 0, text.length(), tree.getCodeTable(), writer);
+        return writer.toEncodedText(text.length());
+    }
+
+    // appends the codes of text[from, to) to out; with a reused writer nothing is allocated per call
+    public static void compress(CharSequence text, int from, int to, CodeTable table, BitWriter out){
+        long[] codes = table.codes();
+        byte[] lengths = table.lengths();
+        for (int i=from; i<to; i++){
+            char c = text.charAt(i);
+            if (c >= lengths.length || lengths[c] == 0){
+                throw new IllegalArgumentException("character " + (int) c + " has no code in this table");
+            }
+            out.write(codes[c], lengths[c]);
+        }
+    }
+
+    public static void compress(char[] text, int from, int to, CodeTable table, BitWriter out){
+        long[] codes = table.codes();
+        byte[] lengths = table.lengths();
+        for (int i=from; i<to; i++){
+            char c = text[i];
+            if (c >= lengths.length || lengths[c] == 0){
+                throw new IllegalArgumentException("character " + (int) c + " has no code in this table");
+            }
+            out.write(codes[c], lengths[c]);
+        }
+    }
+}
\ No newline at end of file
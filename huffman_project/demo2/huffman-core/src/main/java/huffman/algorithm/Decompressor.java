@@ -0,0 +1,48 @@
+package huffman.algorithm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import huffman.model.EncodedText;
+import huffman.model.HuffmanNode;
+import huffman.model.HuffmanTree;
+
+public class Decompressor {
+    public static String decompress(String encodedText,HuffmanTree tree){
+        HuffmanNode root = tree.getRoot();
+        StringBuilder res = new StringBuilder();
+        HuffmanNode curr = root;
+        for (int i=0; i<encodedText.length(); i++){
+            if (!curr.isLeaf()){
+                curr = encodedText.charAt(i) == '0' ? curr.getLeft() : curr.getRight();
+            }
+            if (curr.isLeaf()){
+                res.append(curr.getCharacter());
+                curr = root;
+            }
+        }
+        return res.toString();
+    }
+
+    public static String decompress(EncodedText encoded,HuffmanTree tree){
+        return new TableDecoder(tree.getCodeTable()).decodeToString(encoded);
+    }
+
+    // original decoder, kept as the benchmark baseline: grows a prefix string bit by bit and looks it up
+    public static String decompressReference(String encodedText,HuffmanTree tree){
+        HashMap<String,Character> codeToLetter = new HashMap<>();
+        for (Map.Entry<Character,String> e : tree.getCode().entrySet()){
+            codeToLetter.put(e.getValue(),e.getKey());
+        }
+        StringBuilder res = new StringBuilder();
+        String curr = "";
+        for (int i=0; i<encodedText.length(); i++){
+            curr += encodedText.charAt(i);
+            if (codeToLetter.containsKey(curr)){
+                res.append(codeToLetter.get(curr));
+                curr = "";
+            }
+        }
+        return res.toString();
+    }
+}
\ No newline at end of file
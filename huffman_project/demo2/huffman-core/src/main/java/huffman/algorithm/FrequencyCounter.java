@@ -0,0 +1,69 @@
+package huffman.algorithm;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import huffman.model.IntIntMap;
+
+public class FrequencyCounter {
+    public static HashMap<Character,Integer> getFrequency(List<Character> text){
+        HashMap<Character,Integer> res = new HashMap<>();
+        for (int i=0; i<text.size(); i++){
+            Character curr_char = text.get(i);
+            if (res.containsKey(curr_char)){
+                res.put(curr_char,res.get(curr_char)+1);
+            }
+            else{
+                res.put(curr_char,1);
+            }
+        }
+        return res;
+    }
+
+    public static int[] getFrequencyParallel(CharSequence text){
+        return getFrequencyParallel(text, ForkJoinPool.commonPool());
+    }
+
+    // one int per UTF-16 unit, indexed by the char value
+    public static int[] getFrequencyParallel(CharSequence text, ForkJoinPool pool){
+        return HistogramTask.count(pool, (from, to, h) -> {
+            for (int i=from; i<to; i++){
+                h[text.charAt(i)]++;
+            }
+        }, 0, text.length(), Character.MAX_VALUE + 1);
+    }
+
+    // one count per code point: surrogate pairs count once as their supplementary code point,
+    // unpaired surrogates count as themselves. BMP chars go through a flat array first.
+    public static IntIntMap getCodePointFrequency(CharSequence text){
+        int[] bmp = new int[Character.MAX_VALUE + 1];
+        IntIntMap res = new IntIntMap();
+        int n = text.length();
+        for (int i=0; i<n; i++){
+            char c = text.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(text.charAt(i + 1))){
+                res.add(Character.toCodePoint(c, text.charAt(++i)), 1);
+            }
+            else{
+                bmp[c]++;
+            }
+        }
+        for (int c=0; c<bmp.length; c++){
+            if (bmp[c] > 0){
+                res.put(c, bmp[c]);
+            }
+        }
+        return res;
+    }
+
+    public static HashMap<Character,Integer> toMap(int[] frequencies){
+        HashMap<Character,Integer> res = new HashMap<>();
+        for (int i=0; i<frequencies.length; i++){
+            if (frequencies[i] > 0){
+                res.put((char) i, frequencies[i]);
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,54 @@
+package huffman.algorithm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Splits [from, to) until a chunk is small enough, counts each chunk into its own histogram
+// and adds the histograms back together while joining.
+class HistogramTask extends RecursiveTask<int[]> {
+    interface RangeCounter {
+        void count(int from, int to, int[] histogram);
+    }
+
+    // below this a range is not worth a histogram of its own
+    static final int MIN_CHUNK = 1 << 16;
+
+    private final RangeCounter counter;
+    private final int from;
+    private final int to;
+    private final int chunk;
+    private final int alphabetSize;
+
+    HistogramTask(RangeCounter counter, int from, int to, int chunk, int alphabetSize){
+        this.counter = counter;
+        this.from = from;
+        this.to = to;
+        this.chunk = chunk;
+        this.alphabetSize = alphabetSize;
+    }
+
+    // chunks sized for about one leaf per worker: a histogram can be 64 K ints, so the number of
+    // histograms allocated and merged follows the parallelism, not the input length
+    static int[] count(ForkJoinPool pool, RangeCounter counter, int from, int to, int alphabetSize){
+        int chunk = Math.max(MIN_CHUNK, (int) (((long) to - from + pool.getParallelism() - 1) / pool.getParallelism()));
+        return pool.invoke(new HistogramTask(counter, from, to, chunk, alphabetSize));
+    }
+
+    @Override
+    protected int[] compute() {
+        if (to - from <= chunk){
+            int[] res = new int[alphabetSize];
+            counter.count(from, to, res);
+            return res;
+        }
+        int mid = from + (to - from) / 2;
+        HistogramTask left = new HistogramTask(counter, from, mid, chunk, alphabetSize);
+        left.fork();
+        int[] res = new HistogramTask(counter, mid, to, chunk, alphabetSize).compute();
+        int[] other = left.join();
+        for (int i=0; i<alphabetSize; i++){
+            res[i] += other[i];
+        }
+        return res;
+    }
+}
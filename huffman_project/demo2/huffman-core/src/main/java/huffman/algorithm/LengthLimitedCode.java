@@ -0,0 +1,88 @@
+package huffman.algorithm;
+
+import java.util.Arrays;
+
+import huffman.model.CodeTable;
+import huffman.model.CompactHuffmanTree;
+
+// Optimal prefix codes with no code longer than maxLength, using package-merge.
+// Each of the maxLength levels merges the sorted leaves with the pairs ("packages") of the
+// level below; a leaf's code length is the number of times it is picked across the levels.
+public class LengthLimitedCode {
+    public static int[] computeLengths(int[] sortedFrequencies, int maxLength){
+        int n = sortedFrequencies.length;
+        if (n == 0){
+            throw new IllegalArgumentException("no symbols");
+        }
+        if (maxLength < 1 || maxLength > CanonicalCode.MAX_CODE_LENGTH || (maxLength < 31 && n > (1 << maxLength))){
+            throw new IllegalArgumentException(n + " symbols cannot have codes of at most " + maxLength + " bits");
+        }
+        int[] lengths = new int[n];
+        if (n == 1){
+            lengths[0] = 1;
+            return lengths;
+        }
+
+        // isLeaf[level] flags the merged list at that level, level maxLength-1 is the deepest
+        boolean[][] isLeaf = new boolean[maxLength][];
+        long[] weights = new long[n];
+        for (int i=0; i<n; i++){
+            weights[i] = sortedFrequencies[i];
+        }
+        isLeaf[maxLength-1] = new boolean[n];
+        Arrays.fill(isLeaf[maxLength-1], true);
+        for (int level=maxLength-2; level>=0; level--){
+            int packages = weights.length / 2;
+            long[] merged = new long[n + packages];
+            boolean[] flags = new boolean[n + packages];
+            int i = 0; int p = 0; int k = 0;
+            while (i < n || p < packages){
+                long packageWeight = p < packages ? weights[2*p] + weights[2*p + 1] : Long.MAX_VALUE;
+                if (i < n && sortedFrequencies[i] <= packageWeight){
+                    merged[k] = sortedFrequencies[i++];
+                    flags[k++] = true;
+                }
+                else{
+                    merged[k] = packageWeight;
+                    flags[k++] = false;
+                    p++;
+                }
+            }
+            weights = merged;
+            isLeaf[level] = flags;
+        }
+
+        int take = 2*n - 2;
+        for (int level=0; level<maxLength && take > 0; level++){
+            int leaves = 0;
+            for (int j=0; j<take; j++){
+                if (isLeaf[level][j]){leaves++;}
+            }
+            for (int j=0; j<leaves; j++){
+                lengths[j]++;
+            }
+            take = 2 * (take - leaves);
+        }
+        return lengths;
+    }
+
+    public static CodeTable fromFrequencies(int[] sortedSymbols, int[] sortedFrequencies, int maxLength){
+        return CanonicalCode.fromLengths(sortedSymbols, computeLengths(sortedFrequencies, maxLength));
+    }
+
+    // frequencies indexed by symbol; plain Huffman lengths are kept when they already fit
+    public static CodeTable buildCode(int[] frequencies, int maxLength){
+        CompactHuffmanTree tree = LinearTreeBuilder.build(frequencies);
+        CodeTable unlimited = tree.toCodeTable();
+        if (unlimited.getMaxLength() <= maxLength){
+            return unlimited;
+        }
+        int[] symbols = new int[tree.getLeafCount()];
+        int[] sorted = new int[tree.getLeafCount()];
+        for (int i=0; i<symbols.length; i++){
+            symbols[i] = tree.getSymbol(i);
+            sorted[i] = tree.getFrequency(i);
+        }
+        return fromFrequencies(symbols, sorted, maxLength);
+    }
+}
@@ -0,0 +1,70 @@
+package huffman.algorithm;
+
+import java.util.Arrays;
+import java.util.List;
+
+import huffman.model.CompactHuffmanTree;
+import huffman.model.HuffmanNode;
+
+// Two-queue construction: with the leaves sorted by frequency, merged nodes come out in
+// non-decreasing order too, so the two smallest nodes are always at the head of one of the
+// two queues. On ties the leaf is taken first, which gives the same tree as TreeBuilder.
+public class LinearTreeBuilder {
+    public static CompactHuffmanTree build(int[] sortedSymbols, int[] sortedFrequencies){
+        int n = sortedSymbols.length;
+        if (n == 0){
+            throw new IllegalArgumentException("no symbols to build a tree from");
+        }
+        int[] frequency = new int[2*n - 1];
+        int[] symbol = new int[2*n - 1];
+        int[] left = new int[n - 1];
+        int[] right = new int[n - 1];
+        System.arraycopy(sortedFrequencies, 0, frequency, 0, n);
+        System.arraycopy(sortedSymbols, 0, symbol, 0, n);
+        Arrays.fill(symbol, n, 2*n - 1, -1);
+
+        int nextLeaf = 0;
+        int nextInternal = n;
+        for (int created=n; created<2*n - 1; created++){
+            int a = (nextInternal >= created || (nextLeaf < n && frequency[nextLeaf] <= frequency[nextInternal])) ? nextLeaf++ : nextInternal++;
+            int b = (nextInternal >= created || (nextLeaf < n && frequency[nextLeaf] <= frequency[nextInternal])) ? nextLeaf++ : nextInternal++;
+            left[created - n] = a;
+            right[created - n] = b;
+            frequency[created] = frequency[a] + frequency[b];
+        }
+        return new CompactHuffmanTree(symbol, frequency, left, right, n);
+    }
+
+    public static CompactHuffmanTree build(List<HuffmanNode> sortedLeaves){
+        int[] symbols = new int[sortedLeaves.size()];
+        int[] frequencies = new int[sortedLeaves.size()];
+        for (int i=0; i<symbols.length; i++){
+            symbols[i] = sortedLeaves.get(i).getCharacter();
+            frequencies[i] = sortedLeaves.get(i).getFrequency();
+        }
+        return build(symbols, frequencies);
+    }
+
+    // frequencies indexed by symbol, zero entries are left out
+    public static CompactHuffmanTree build(int[] frequencies){
+        int count = 0;
+        for (int f : frequencies){
+            if (f > 0){count++;}
+        }
+        long[] keys = new long[count];
+        int k = 0;
+        for (int s=0; s<frequencies.length; s++){
+            if (frequencies[s] > 0){
+                keys[k++] = ((long) frequencies[s] << 32) | s;
+            }
+        }
+        Arrays.sort(keys);
+        int[] symbols = new int[count];
+        int[] sorted = new int[count];
+        for (int i=0; i<count; i++){
+            symbols[i] = (int) keys[i];
+            sorted[i] = (int) (keys[i] >>> 32);
+        }
+        return build(symbols, sorted);
+    }
+}
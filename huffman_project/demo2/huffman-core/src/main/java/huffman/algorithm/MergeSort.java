@@ -0,0 +1,74 @@
+package huffman.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import huffman.model.HuffmanNode;
+
+public class MergeSort {
+    public static List<HuffmanNode> merge(List<HuffmanNode> A,List<HuffmanNode> B){
+        List<HuffmanNode> res = new ArrayList<>();
+        int i=0; int j=0;
+
+        while (i<A.size() && j<B.size()){
+            if (A.get(i).getFrequency() <= B.get(j).getFrequency()){
+                res.add(A.get(i));
+                i++;
+            }
+            else{
+                res.add(B.get(j));
+                j++;
+            }
+        }
+
+        while (i<A.size()){
+            res.add(A.get(i));
+            i++;
+        }
+
+        while (j<B.size()){
+            res.add(B.get(j));
+            j++;
+        }
+        return res;
+    }
+
+    public static List<HuffmanNode> mergeSort(List<HuffmanNode> A){
+        HuffmanNode[] nodes = A.toArray(new HuffmanNode[0]);
+        mergeSort(nodes, new HuffmanNode[nodes.length], 0, nodes.length);
+        return new ArrayList<>(Arrays.asList(nodes));
+    }
+
+    // original list-splitting sort, kept as the benchmark baseline: new lists at every level
+    public static List<HuffmanNode> mergeSortReference(List<HuffmanNode> A){
+        if (A.size() <= 1){return A;}
+        int mid = A.size()/2;
+        return merge(mergeSortReference(A.subList(0, mid)),mergeSortReference(A.subList(mid, A.size())));
+    }
+
+    // sorts nodes[from, to) with one shared buffer instead of a new list per level
+    private static void mergeSort(HuffmanNode[] nodes, HuffmanNode[] buffer, int from, int to){
+        if (to - from <= 1){return;}
+        int mid = from + (to - from)/2;
+        mergeSort(nodes, buffer, from, mid);
+        mergeSort(nodes, buffer, mid, to);
+        if (nodes[mid-1].getFrequency() <= nodes[mid].getFrequency()){return;}
+        System.arraycopy(nodes, from, buffer, from, to - from);
+        int i=from; int j=mid; int k=from;
+        while (i<mid && j<to){
+            if (buffer[i].getFrequency() <= buffer[j].getFrequency()){
+                nodes[k++] = buffer[i++];
+            }
+            else{
+                nodes[k++] = buffer[j++];
+            }
+        }
+        while (i<mid){
+            nodes[k++] = buffer[i++];
+        }
+        while (j<to){
+            nodes[k++] = buffer[j++];
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package huffman.algorithm;
+
+import huffman.model.SymbolDictionary;
+
+// Fixed-length tokens of n chars, the last one may be shorter.
+public class NGramTokenizer implements Tokenizer {
+    private final int n;
+
+    public NGramTokenizer(int n){
+        if (n < 1){
+            throw new IllegalArgumentException("n-gram length " + n);
+        }
+        this.n = n;
+    }
+
+    @Override
+    public int[] tokenize(CharSequence text, SymbolDictionary dictionary) {
+        int[] res = new int[(text.length() + n - 1) / n];
+        for (int i=0; i<res.length; i++){
+            res[i] = dictionary.add(text.subSequence(i * n, Math.min(text.length(), (i + 1) * n)).toString());
+        }
+        return res;
+    }
+}
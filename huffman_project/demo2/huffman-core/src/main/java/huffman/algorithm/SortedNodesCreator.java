@@ -20,4 +20,14 @@ public class SortedNodesCreator {
         }
         return MergeSort.mergeSort(res);
     }
+
+    public static List<HuffmanNode> sort(int[] frequencies){
+        List<HuffmanNode> res = new ArrayList<>();
+        for (int symbol=0; symbol<frequencies.length; symbol++){
+            if (frequencies[symbol] > 0){
+                res.add(new HuffmanNode((char) symbol, frequencies[symbol]));
+            }
+        }
+        return MergeSort.mergeSort(res);
+    }
 }
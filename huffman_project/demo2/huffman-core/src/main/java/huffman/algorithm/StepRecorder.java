@@ -0,0 +1,17 @@
+package huffman.algorithm;
+
+import huffman.model.CompactHuffmanTree;
+import huffman.model.HuffmanNode;
+import huffman.model.HuffmanTree;
+
+// Decides what TreeBuilder keeps of the construction steps once a tree is built.
+// nodes[i] is the node object of compact tree node i.
+public interface StepRecorder {
+    void record(HuffmanTree tree, CompactHuffmanTree compact, HuffmanNode[] nodes);
+
+    // headless builds: no steps at all
+    StepRecorder NONE = (tree, compact, nodes) -> {};
+
+    // steps rebuilt on demand from the compact tree's merge log, for the visualizer
+    StepRecorder REPLAY = (tree, compact, nodes) -> tree.setConstructionLog(compact, nodes);
+}
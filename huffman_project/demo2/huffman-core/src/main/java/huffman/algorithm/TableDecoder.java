@@ -0,0 +1,203 @@
+package huffman.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import huffman.model.CodeTable;
+import huffman.model.EncodedText;
+
+public class TableDecoder {
+    public static final int DEFAULT_ROOT_BITS = 11;
+    private static final int SUB_TABLE_BITS = 8;
+    private static final int MAX_SYMBOL = 0xFFFFFF;
+
+    // entry layout: symbol1 (24 bits) | symbol2 (24 bits) | bits used (6) | bits of symbol1 (6) | kind (2)
+    // for pointers the low 32 bits hold the sub table offset and the "bits used" field its index width
+    private static final int KIND_INVALID = 0;
+    private static final int KIND_SINGLE = 1;
+    private static final int KIND_PAIR = 2;
+    private static final int KIND_POINTER = 3;
+
+    private long[] table;
+    private int size = 0;
+    private final int rootBits;
+
+    public TableDecoder(CodeTable code){
+        this(code, DEFAULT_ROOT_BITS);
+    }
+
+    public TableDecoder(CodeTable code, int rootBits){
+        if (code.size() == 0){
+            throw new IllegalArgumentException("empty code table");
+        }
+        this.rootBits = Math.max(1, Math.min(rootBits, code.getMaxLength()));
+        this.table = new long[1 << this.rootBits];
+        List<Integer> all = new ArrayList<>();
+        for (int i=0; i<code.size(); i++){
+            int symbol = code.getSymbol(i);
+            if (symbol > MAX_SYMBOL){
+                throw new IllegalArgumentException("symbol " + symbol + " does not fit in a decoding table entry");
+            }
+            all.add(symbol);
+        }
+        buildTable(code, all, 0, this.rootBits);
+        pairRootEntries();
+    }
+
+    public int getRootBits(){return rootBits;}
+
+    public int getTableSize(){return size;}
+
+    private int buildTable(CodeTable code, List<Integer> symbols, int consumed, int bits){
+        int offset = size;
+        size += 1 << bits;
+        if (size > table.length){
+            table = Arrays.copyOf(table, Math.max(size, table.length*2));
+        }
+        List<List<Integer>> children = new ArrayList<>();
+        for (int i=0; i<(1 << bits); i++){
+            children.add(null);
+        }
+        for (int symbol : symbols){
+            int remaining = code.getLength(symbol) - consumed;
+            long suffix = code.getCode(symbol) & (-1L >>> (64 - remaining));
+            if (remaining <= bits){
+                int first = (int) (suffix << (bits - remaining));
+                long entry = single(symbol, remaining);
+                for (int i=0; i<(1 << (bits - remaining)); i++){
+                    table[offset + first + i] = entry;
+                }
+            }
+            else{
+                int index = (int) (suffix >>> (remaining - bits));
+                if (children.get(index) == null){
+                    children.set(index, new ArrayList<>());
+                }
+                children.get(index).add(symbol);
+            }
+        }
+        for (int i=0; i<children.size(); i++){
+            List<Integer> child = children.get(i);
+            if (child == null){continue;}
+            int childConsumed = consumed + bits;
+            int longest = 0;
+            for (int symbol : child){
+                longest = Math.max(longest, code.getLength(symbol) - childConsumed);
+            }
+            int childBits = Math.min(longest, SUB_TABLE_BITS);
+            int childOffset = buildTable(code, child, childConsumed, childBits);
+            table[offset + i] = ((long) KIND_POINTER << 62) | ((long) childBits << 48) | childOffset;
+        }
+        return offset;
+    }
+
+    // a root entry whose first code leaves enough known bits to also resolve the next code decodes both at once
+    private void pairRootEntries(){
+        long[] singles = Arrays.copyOf(table, 1 << rootBits);
+        int mask = (1 << rootBits) - 1;
+        for (int i=0; i<singles.length; i++){
+            long first = singles[i];
+            if (kind(first) != KIND_SINGLE){continue;}
+            int used = bitsUsed(first);
+            long second = singles[(i << used) & mask];
+            if (kind(second) == KIND_SINGLE && used + bitsUsed(second) <= rootBits){
+                table[i] = ((long) KIND_PAIR << 62) | ((long) used << 56) | ((long) (used + bitsUsed(second)) << 48)
+                        | ((long) symbol2Of(second) << 24) | symbol1(first);
+            }
+        }
+    }
+
+    private static long single(int symbol, int length){
+        return ((long) KIND_SINGLE << 62) | ((long) length << 56) | ((long) length << 48) | symbol;
+    }
+
+    private static int kind(long entry){return (int) (entry >>> 62);}
+    private static int firstBits(long entry){return (int) (entry >>> 56) & 0x3F;}
+    private static int bitsUsed(long entry){return (int) (entry >>> 48) & 0x3F;}
+    private static int symbol1(long entry){return (int) entry & MAX_SYMBOL;}
+    private static int symbol2(long entry){return (int) (entry >>> 24) & MAX_SYMBOL;}
+    private static int symbol2Of(long singleEntry){return symbol1(singleEntry);}
+
+    // returns the next root entry resolved to a SINGLE or PAIR entry, consuming its bits
+    private long next(BitReader in, boolean allowPair){
+        long entry = table[(int) in.peek(rootBits)];
+        int kind = kind(entry);
+        if (kind == KIND_PAIR){
+            if (allowPair){
+                in.skip(bitsUsed(entry));
+                return entry;
+            }
+            in.skip(firstBits(entry));
+            return single(symbol1(entry), firstBits(entry));
+        }
+        if (kind == KIND_SINGLE){
+            in.skip(bitsUsed(entry));
+            return entry;
+        }
+        int consumed = rootBits;
+        while (kind == KIND_POINTER){
+            in.skip(consumed);
+            int bits = bitsUsed(entry);
+            entry = table[(int) entry + (int) in.peek(bits)];
+            kind = kind(entry);
+            consumed = bits;
+        }
+        if (kind == KIND_INVALID){
+            throw new IllegalArgumentException("invalid code at bit " + in.getPosition());
+        }
+        in.skip(bitsUsed(entry));
+        return entry;
+    }
+
+    public void decode(BitReader in, char[] out, int offset, int count){
+        int end = offset + count;
+        int i = offset;
+        while (i < end){
+            long entry = next(in, i+1 < end);
+            out[i++] = (char) symbol1(entry);
+            if (kind(entry) == KIND_PAIR){
+                out[i++] = (char) symbol2(entry);
+            }
+        }
+        checkBounds(in);
+    }
+
+    public void decode(BitReader in, byte[] out, int offset, int count){
+        int end = offset + count;
+        int i = offset;
+        while (i < end){
+            long entry = next(in, i+1 < end);
+            out[i++] = (byte) symbol1(entry);
+            if (kind(entry) == KIND_PAIR){
+                out[i++] = (byte) symbol2(entry);
+            }
+        }
+        checkBounds(in);
+    }
+
+    public void decode(BitReader in, int[] out, int offset, int count){
+        int end = offset + count;
+        int i = offset;
+        while (i < end){
+            long entry = next(in, i+1 < end);
+            out[i++] = symbol1(entry);
+            if (kind(entry) == KIND_PAIR){
+                out[i++] = symbol2(entry);
+            }
+        }
+        checkBounds(in);
+    }
+
+    public String decodeToString(EncodedText encoded){
+        char[] res = new char[encoded.getSymbolCount()];
+        decode(new BitReader(encoded), res, 0, res.length);
+        return new String(res);
+    }
+
+    private static void checkBounds(BitReader in){
+        if (in.remaining() < 0){
+            throw new IllegalArgumentException("encoded data ended " + (-in.remaining()) + " bits early");
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package huffman.algorithm;
 
+import huffman.model.EncodedText;
 import huffman.model.HuffmanTree;
 
 public class Test {
     public static void main(String[] args) {
         String myText = "Huffman coding @ is a popular algorithm used for lossless data compression. It was developed by David A. Huffman while he was a Ph.D. student at MIT and was published in 1952. The primary goal of Huffman coding is to compress data efficiently by assigning shorter codes to more frequent symbols or characters and longer codes to less frequent ones.";
-        HuffmanTree myTree = TreeBuilder.buildHuffmanTree(myText);
+        HuffmanTree myTree = TreeBuilder.buildHuffmanTree(myText, StepRecorder.REPLAY);
 
         for (var x : myTree.getConstructionSteps()){
             System.out.println(x);
@@ -14,5 +15,7 @@ public class Test {
         System.out.println(myTree.getCode());
         String compression = Compressor.compress(myText, myTree);
         System.out.println(Decompressor.decompress(compression, myTree));
+        EncodedText packed = Compressor.compressToBits(myText, myTree);
+        System.out.println(myText.length() + " chars -> " + packed.getByteLength() + " bytes (" + packed.getBitLength() + " bits)");
     }
 }
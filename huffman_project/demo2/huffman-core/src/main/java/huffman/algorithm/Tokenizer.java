@@ -0,0 +1,9 @@
+package huffman.algorithm;
+
+import huffman.model.SymbolDictionary;
+
+// Splits text into tokens that concatenate back to it exactly and returns their symbol ids,
+// adding tokens not seen yet to the dictionary.
+public interface Tokenizer {
+    int[] tokenize(CharSequence text, SymbolDictionary dictionary);
+}
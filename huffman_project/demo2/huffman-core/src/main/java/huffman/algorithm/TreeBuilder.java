@@ -0,0 +1,77 @@
+package huffman.algorithm;
+
+import huffman.model.CompactHuffmanTree;
+import huffman.model.HuffmanNode;
+import huffman.model.HuffmanTree;
+import java.util.*;
+
+public class TreeBuilder {
+    public static HuffmanTree buildHuffmanTree(String text){
+        return buildHuffmanTree(text, StepRecorder.NONE);
+    }
+
+    public static HuffmanTree buildHuffmanTree(String text, StepRecorder recorder){
+        return buildHuffmanTree(SortedNodesCreator.sort(text), recorder);
+    }
+
+    public static HuffmanTree buildHuffmanTree(int[] frequencies){
+        return buildHuffmanTree(frequencies, StepRecorder.NONE);
+    }
+
+    public static HuffmanTree buildHuffmanTree(int[] frequencies, StepRecorder recorder){
+        return buildHuffmanTree(SortedNodesCreator.sort(frequencies), recorder);
+    }
+
+    public static HuffmanTree buildHuffmanTree(List<HuffmanNode> list_nodes){
+        return buildHuffmanTree(list_nodes, StepRecorder.NONE);
+    }
+
+    // linear-time build; the recorder decides whether construction steps are kept
+    public static HuffmanTree buildHuffmanTree(List<HuffmanNode> list_nodes, StepRecorder recorder){
+        HuffmanTree res = new HuffmanTree();
+        CompactHuffmanTree compact = LinearTreeBuilder.build(list_nodes);
+        HuffmanNode[] nodes = compact.toHuffmanNodes(list_nodes.toArray(new HuffmanNode[0]));
+        res.setRoot(nodes[compact.getRoot()]);
+        res.setCompactTree(compact);
+        recorder.record(res, compact, nodes);
+        return res;
+    }
+
+    // original list-insertion builder, kept as the reference: O(n^2) and a full snapshot per step
+    public static HuffmanTree buildHuffmanTreeReference(List<HuffmanNode> list_nodes){
+        HuffmanTree res = new HuffmanTree();
+        LinkedList<HuffmanNode> ll_nodes = new LinkedList<>(list_nodes);
+
+        while (ll_nodes.size()>1){
+            List<HuffmanNode> actualStep = new ArrayList<>(ll_nodes);
+            res.addConstructionSteps(actualStep);
+            HuffmanNode node1 = ll_nodes.removeFirst();
+            HuffmanNode node2 = ll_nodes.removeFirst();
+
+            int new_frequency =  node1.getFrequency()+node2.getFrequency();
+            HuffmanNode new_node = new HuffmanNode(null,new_frequency);
+            new_node.setLeft(node1);
+            new_node.setRight(node2);
+
+            ListIterator<HuffmanNode> it = ll_nodes.listIterator();
+            boolean found = false;
+            while (it.hasNext() && !found){
+                HuffmanNode compareNode = it.next();
+                if (compareNode.getFrequency() > new_frequency){
+                    it.previous();
+                    it.add(new_node);
+                    found = true;
+                }
+            }
+
+            if (!found){
+                it.add(new_node);
+            }
+
+        }
+        List<HuffmanNode> actualStep = new ArrayList<>(ll_nodes);
+        res.addConstructionSteps(actualStep);
+        res.setRoot(ll_nodes.get(0));
+        return res;
+    }
+}
@@ -0,0 +1,36 @@
+package huffman.algorithm;
+
+import java.util.Arrays;
+
+import huffman.model.SymbolDictionary;
+
+// Words are runs of letters and digits and take the single space in front of them with them,
+// so "the cat" gives "the" and " cat". Every other char is a token of its own.
+public class WordTokenizer implements Tokenizer {
+    @Override
+    public int[] tokenize(CharSequence text, SymbolDictionary dictionary) {
+        int[] res = new int[Math.max(16, text.length() / 4)];
+        int count = 0;
+        int i = 0;
+        int n = text.length();
+        while (i < n){
+            int start = i;
+            if (text.charAt(i) == ' ' && i + 1 < n && Character.isLetterOrDigit(text.charAt(i + 1))){
+                i++;
+            }
+            if (Character.isLetterOrDigit(text.charAt(i))){
+                while (i < n && Character.isLetterOrDigit(text.charAt(i))){
+                    i++;
+                }
+            }
+            else{
+                i++;
+            }
+            if (count == res.length){
+                res = Arrays.copyOf(res, res.length * 2);
+            }
+            res[count++] = dictionary.add(text.subSequence(start, i).toString());
+        }
+        return Arrays.copyOf(res, count);
+    }
+}
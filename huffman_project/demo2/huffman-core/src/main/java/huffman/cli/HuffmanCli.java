@@ -0,0 +1,355 @@
+package huffman.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import huffman.io.BlockCompressor;
+import huffman.io.DictionaryCache;
+import huffman.io.HufArchive;
+import huffman.io.HufFormat;
+import huffman.io.HuffmanDictionary;
+
+// Headless entry point, no JavaFX involved: java -jar huffman-core.jar <command> [options] <path>...
+public class HuffmanCli {
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "usage: huffman <command> [options] <path>...",
+            "",
+            "commands:",
+            "  compress     compress files and directories to .huf (.hufm with a dictionary)",
+            "  decompress   restore the .huf and .hufm files found in the given paths",
+            "  train        train a shared dictionary on sample files, -o names the .hufd file or its directory",
+            "",
+            "options:",
+            "  -t, --threads N          worker threads (default: number of processors)",
+            "  -b, --block-size SIZE    block size, with an optional k or m suffix (default: 1m)",
+            "  -d, --dictionary PATH    dictionary file, or a directory of them when decompressing",
+            "  -o, --output DIR         write results under DIR instead of next to the inputs",
+            "  -f, --force              overwrite existing files",
+            "  -q, --quiet              only report errors");
+
+    private static final int DICTIONARY_CACHE_SIZE = 16;
+
+    private static class Options {
+        String command;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int blockSize = HufFormat.DEFAULT_BLOCK_SIZE;
+        Path dictionary;
+        Path output;
+        boolean force;
+        boolean quiet;
+        List<Path> inputs = new ArrayList<>();
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    // exit status: 0 on success, 1 when a file failed, 2 on a usage error
+    public static int run(String[] args, PrintStream out, PrintStream err){
+        Options options;
+        try {
+            options = parse(args);
+        } catch (IllegalArgumentException e) {
+            err.println("huffman: " + e.getMessage());
+            err.println(USAGE);
+            return 2;
+        }
+        if (options == null){
+            out.println(USAGE);
+            return 0;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads, r -> {
+            Thread t = new Thread(r, "huffman-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            switch (options.command){
+                case "compress": return compress(options, executor, out, err);
+                case "decompress": return decompress(options, executor, out, err);
+                default: return train(options, out);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            err.println("huffman: " + e.getMessage());
+            return 1;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Options parse(String[] args){
+        Options res = new Options();
+        for (int i=0; i<args.length; i++){
+            String arg = args[i];
+            switch (arg){
+                case "-h": case "--help": return null;
+                case "-t": case "--threads": res.threads = parsePositive(arg, value(args, ++i, arg)); break;
+                case "-b": case "--block-size": res.blockSize = parseSize(value(args, ++i, arg)); break;
+                case "-d": case "--dictionary": res.dictionary = Paths.get(value(args, ++i, arg)); break;
+                case "-o": case "--output": res.output = Paths.get(value(args, ++i, arg)); break;
+                case "-f": case "--force": res.force = true; break;
+                case "-q": case "--quiet": res.quiet = true; break;
+                default:
+                    if (arg.startsWith("-")){
+                        throw new IllegalArgumentException("unknown option " + arg);
+                    }
+                    if (res.command == null){
+                        if (!arg.equals("compress") && !arg.equals("decompress") && !arg.equals("train")){
+                            throw new IllegalArgumentException("unknown command " + arg);
+                        }
+                        res.command = arg;
+                    }
+                    else{
+                        res.inputs.add(Paths.get(arg));
+                    }
+            }
+        }
+        if (res.command == null){
+            throw new IllegalArgumentException("no command given");
+        }
+        if (res.inputs.isEmpty()){
+            throw new IllegalArgumentException("no input paths given");
+        }
+        if (res.command.equals("train") && res.output == null){
+            throw new IllegalArgumentException("train needs -o for the dictionary file");
+        }
+        return res;
+    }
+
+    private static String value(String[] args, int i, String option){
+        if (i >= args.length){
+            throw new IllegalArgumentException(option + " needs a value");
+        }
+        return args[i];
+    }
+
+    private static int parsePositive(String option, String value){
+        try {
+            int res = Integer.parseInt(value);
+            if (res < 1){
+                throw new IllegalArgumentException(option + " must be at least 1");
+            }
+            return res;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bad number for " + option + ": " + value);
+        }
+    }
+
+    static int parseSize(String value){
+        String lower = value.toLowerCase();
+        int shift = lower.endsWith("k") ? 10 : lower.endsWith("m") ? 20 : 0;
+        String digits = shift == 0 ? lower : lower.substring(0, lower.length() - 1);
+        long res;
+        try {
+            res = Long.parseLong(digits) << shift;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bad block size " + value);
+        }
+        if (res < 1 || res > HufFormat.MAX_BLOCK_SIZE){
+            throw new IllegalArgumentException("block size must be between 1 and " + HufFormat.MAX_BLOCK_SIZE);
+        }
+        return (int) res;
+    }
+
+    private static int compress(Options options, ExecutorService executor, PrintStream out, PrintStream err) throws IOException {
+        HuffmanDictionary dictionary = options.dictionary == null ? null : HuffmanDictionary.load(options.dictionary);
+        BlockCompressor compressor = new BlockCompressor(executor, options.blockSize, options.threads);
+        List<Job> jobs = new ArrayList<>();
+        for (Path input : options.inputs){
+            for (Path file : files(input)){
+                String name = file.getFileName().toString();
+                if (name.endsWith(HufFormat.EXTENSION) || name.endsWith(HufFormat.MESSAGE_EXTENSION) || name.endsWith(HufFormat.DICTIONARY_EXTENSION)){
+                    continue;
+                }
+                Path target = target(options, input, file, name + (dictionary == null ? HufFormat.EXTENSION : HufFormat.MESSAGE_EXTENSION));
+                if (dictionary == null){
+                    // blocks of one file are already spread over the workers
+                    jobs.add(new Job(file, target, () -> compressor.compress(file, target)));
+                }
+                else{
+                    jobs.add(new Job(file, target, () -> Files.write(target, dictionary.compress(Files.readAllBytes(file)))));
+                }
+            }
+        }
+        return runJobs(jobs, dictionary != null ? executor : null, options, out, err);
+    }
+
+    private static int decompress(Options options, ExecutorService executor, PrintStream out, PrintStream err) throws IOException {
+        DictionaryCache dictionaries = null;
+        if (options.dictionary != null){
+            dictionaries = Files.isDirectory(options.dictionary) ? DictionaryCache.forDirectory(options.dictionary, DICTIONARY_CACHE_SIZE) : singleDictionary(options.dictionary);
+        }
+        DictionaryCache cache = dictionaries;
+        List<Job> jobs = new ArrayList<>();
+        List<Job> messages = new ArrayList<>();
+        for (Path input : options.inputs){
+            for (Path file : files(input)){
+                String name = file.getFileName().toString();
+                if (name.endsWith(HufFormat.EXTENSION)){
+                    Path target = target(options, input, file, name.substring(0, name.length() - HufFormat.EXTENSION.length()));
+                    jobs.add(new Job(file, target, () -> {
+                        try (HufArchive archive = new HufArchive(file)) {
+                            archive.decompressTo(target, executor);
+                        }
+                    }));
+                }
+                else if (name.endsWith(HufFormat.MESSAGE_EXTENSION)){
+                    Path target = target(options, input, file, name.substring(0, name.length() - HufFormat.MESSAGE_EXTENSION.length()));
+                    if (cache == null){
+                        // a failed file like any other, the .huf files next to it are still restored
+                        messages.add(new Job(file, target, () -> {
+                            throw new IOException("compressed with a dictionary, pass it with -d");
+                        }));
+                    }
+                    else{
+                        messages.add(new Job(file, target, () -> Files.write(target, cache.decompress(Files.readAllBytes(file)))));
+                    }
+                }
+                else if (file.equals(input)){
+                    throw new IOException(file + " is not a " + HufFormat.EXTENSION + " or " + HufFormat.MESSAGE_EXTENSION + " file");
+                }
+            }
+        }
+        int res = runJobs(jobs, null, options, out, err);
+        return Math.max(res, runJobs(messages, executor, options, out, err));
+    }
+
+    private static int train(Options options, PrintStream out) throws IOException {
+        List<byte[]> samples = new ArrayList<>();
+        for (Path input : options.inputs){
+            for (Path file : files(input)){
+                samples.add(Files.readAllBytes(file));
+            }
+        }
+        HuffmanDictionary dictionary = HuffmanDictionary.train(samples);
+        Path target = Files.isDirectory(options.output) ? HuffmanDictionary.fileName(options.output, dictionary.getId()) : options.output;
+        if (Files.exists(target) && !options.force){
+            throw new IOException(target + " already exists, use -f to overwrite");
+        }
+        dictionary.save(target);
+        if (!options.quiet){
+            out.println(String.format("%s: dictionary %08x trained on %d files", target, dictionary.getId(), samples.size()));
+        }
+        return 0;
+    }
+
+    private interface Action {
+        void run() throws IOException;
+    }
+
+    private static class Job {
+        final Path source;
+        final Path target;
+        final Action action;
+
+        Job(Path source, Path target, Action action){
+            this.source = source;
+            this.target = target;
+            this.action = action;
+        }
+    }
+
+    // one file at a time when executor is null, otherwise one file per worker; a failed file does not stop the others
+    private static int runJobs(List<Job> jobs, ExecutorService executor, Options options, PrintStream out, PrintStream err){
+        List<Future<String>> results = new ArrayList<>();
+        for (Job job : jobs){
+            if (executor == null){
+                results.add(CompletableFuture.completedFuture(runJob(job, options)));
+            }
+            else{
+                results.add(executor.submit(() -> runJob(job, options)));
+            }
+        }
+        int res = 0;
+        for (int i=0; i<jobs.size(); i++){
+            Job job = jobs.get(i);
+            String error;
+            try {
+                error = results.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                err.println("huffman: interrupted");
+                return 1;
+            } catch (ExecutionException e) {
+                error = String.valueOf(e.getCause());
+            }
+            if (error != null){
+                err.println("huffman: " + job.source + ": " + error);
+                res = 1;
+            }
+            else if (!options.quiet){
+                out.println(job.source + " -> " + job.target + " (" + size(job.source) + " -> " + size(job.target) + " bytes)");
+            }
+        }
+        return res;
+    }
+
+    // null on success, the error message otherwise
+    private static String runJob(Job job, Options options){
+        try {
+            if (Files.exists(job.target) && !options.force){
+                return job.target + " already exists, use -f to overwrite";
+            }
+            Files.createDirectories(job.target.toAbsolutePath().getParent());
+            job.action.run();
+            return null;
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static long size(Path file){
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static List<Path> files(Path input) throws IOException {
+        if (!Files.exists(input)){
+            throw new IOException(input + " does not exist");
+        }
+        if (!Files.isDirectory(input)){
+            return List.of(input);
+        }
+        try (Stream<Path> walk = Files.walk(input)) {
+            return walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+
+    // next to the source, or under the output directory keeping the layout below the input directory
+    private static Path target(Options options, Path input, Path file, String name){
+        if (options.output == null){
+            return file.resolveSibling(name);
+        }
+        Path relative = file.getFileName();
+        if (Files.isDirectory(input)){
+            Path directory = input.toAbsolutePath().normalize().getFileName();
+            relative = directory == null ? input.relativize(file) : directory.resolve(input.relativize(file));
+        }
+        return options.output.resolve(relative).resolveSibling(name);
+    }
+
+    private static DictionaryCache singleDictionary(Path file) throws IOException {
+        HuffmanDictionary dictionary = HuffmanDictionary.load(file);
+        DictionaryCache res = new DictionaryCache(1, id -> {
+            throw new IOException("message needs dictionary " + String.format("%08x", id) + ", " + file + " is " + String.format("%08x", dictionary.getId()));
+        });
+        res.put(dictionary);
+        return res;
+    }
+}
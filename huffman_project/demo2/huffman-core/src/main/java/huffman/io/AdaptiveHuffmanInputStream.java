@@ -0,0 +1,94 @@
+package huffman.io;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import huffman.algorithm.AdaptiveModel;
+
+public class AdaptiveHuffmanInputStream extends InputStream {
+    private final InputStream in;
+    private final AdaptiveModel model;
+    private int currentByte = 0;
+    private int bitsLeft = 0;
+    private boolean finished = false;
+
+    public AdaptiveHuffmanInputStream(InputStream in) throws IOException {
+        this.in = in;
+        DataInputStream header = new DataInputStream(in);
+        byte[] magic = new byte[HufFormat.ADAPTIVE_MAGIC.length];
+        header.readFully(magic);
+        if (!Arrays.equals(magic, HufFormat.ADAPTIVE_MAGIC)){
+            throw new IOException("not an adaptive .huf stream");
+        }
+        int version = header.readUnsignedByte();
+        if (version != HufFormat.VERSION){
+            throw new IOException("unsupported .huf version " + version);
+        }
+        int interval = header.readInt();
+        if (interval < 1){
+            throw new IOException("corrupt rebuild interval " + interval);
+        }
+        this.model = new AdaptiveModel(interval);
+    }
+
+    private int readBit() throws IOException {
+        if (bitsLeft == 0){
+            currentByte = in.read();
+            if (currentByte < 0){
+                throw new EOFException("adaptive stream ended without EOF symbol");
+            }
+            bitsLeft = 8;
+        }
+        bitsLeft--;
+        return (currentByte >>> bitsLeft) & 1;
+    }
+
+    // next data byte, -2 when a SYNC point was reached, -1 at the end of the stream
+    private int next() throws IOException {
+        if (finished){return -1;}
+        int symbol = model.decode(this::readBit);
+        if (symbol == AdaptiveModel.EOF){
+            finished = true;
+            return -1;
+        }
+        if (symbol == AdaptiveModel.SYNC){
+            bitsLeft = 0;
+            return -2;
+        }
+        return symbol;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b;
+        do {
+            b = next();
+        } while (b == -2);
+        return b;
+    }
+
+    // stops early at a SYNC point so a reader on a live stream gets what the writer flushed
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0){return 0;}
+        int n = 0;
+        while (n < len){
+            int symbol = next();
+            if (symbol == -1){break;}
+            if (symbol == -2){
+                if (n > 0){break;}
+                continue;
+            }
+            b[off + n++] = (byte) symbol;
+        }
+        return n == 0 ? -1 : n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
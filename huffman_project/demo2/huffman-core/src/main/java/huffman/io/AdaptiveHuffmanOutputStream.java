@@ -0,0 +1,75 @@
+package huffman.io;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import huffman.algorithm.AdaptiveModel;
+import huffman.algorithm.BitWriter;
+
+// Single-pass compression: no frequency pass and no code table on the wire.
+public class AdaptiveHuffmanOutputStream extends OutputStream {
+    private static final int DRAIN_THRESHOLD = 1 << 13;
+
+    private final OutputStream out;
+    private final AdaptiveModel model;
+    private final BitWriter writer = new BitWriter(DRAIN_THRESHOLD * 2);
+    private boolean closed = false;
+
+    public AdaptiveHuffmanOutputStream(OutputStream out) throws IOException {
+        this(out, HufFormat.DEFAULT_REBUILD_INTERVAL);
+    }
+
+    public AdaptiveHuffmanOutputStream(OutputStream out, int rebuildInterval) throws IOException {
+        this.out = out;
+        this.model = new AdaptiveModel(rebuildInterval);
+        DataOutputStream header = new DataOutputStream(out);
+        header.write(HufFormat.ADAPTIVE_MAGIC);
+        header.writeByte(HufFormat.VERSION);
+        header.writeInt(rebuildInterval);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        model.encode(b & 0xFF, writer);
+        if (writer.getBufferedBytes() >= DRAIN_THRESHOLD){
+            writer.drainTo(out);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        for (int i=off; i<off+len; i++){
+            model.encode(b[i] & 0xFF, writer);
+        }
+        writer.drainTo(out);
+    }
+
+    // encodes a SYNC symbol and pads to a byte boundary, so the reader can decode everything written so far
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        model.encode(AdaptiveModel.SYNC, writer);
+        writer.alignToByte();
+        writer.drainTo(out);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed){return;}
+        model.encode(AdaptiveModel.EOF, writer);
+        writer.alignToByte();
+        writer.drainTo(out);
+        closed = true;
+        out.close();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed){
+            throw new IOException("stream closed");
+        }
+    }
+}
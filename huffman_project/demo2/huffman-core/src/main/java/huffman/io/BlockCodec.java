@@ -0,0 +1,81 @@
+package huffman.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+import huffman.algorithm.BitWriter;
+import huffman.algorithm.ByteCompressor;
+import huffman.algorithm.ByteDecompressor;
+import huffman.algorithm.ByteFrequencyCounter;
+import huffman.algorithm.CanonicalCode;
+import huffman.algorithm.TableDecoder;
+import huffman.model.CodeLengthHeader;
+import huffman.model.CodeTable;
+import huffman.model.EncodedText;
+
+public class BlockCodec {
+    public static EncodedBlock encode(byte[] data, int offset, int length, BitWriter writer){
+        return encode(data, offset, length, ByteCompressor.buildCode(ByteFrequencyCounter.getFrequency(data, offset, length), HufFormat.MAX_CODE_LENGTH), writer);
+    }
+
+    public static EncodedBlock encode(byte[] data, int offset, int length, CodeTable table, BitWriter writer){
+        writer.reset();
+        ByteCompressor.compress(data, offset, length, table, writer);
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        return new EncodedBlock(length, (int) crc.getValue(), table, writer.toEncodedText(length));
+    }
+
+    public static void decode(EncodedBlock block, byte[] out, int offset) throws IOException {
+        try {
+            ByteDecompressor.decompress(block.getPayload(), new TableDecoder(block.getCodeTable()), out, offset);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupt block: " + e.getMessage(), e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(out, offset, block.getRawLength());
+        if ((int) crc.getValue() != block.getCrc()){
+            throw new IOException("block checksum mismatch");
+        }
+    }
+
+    // returns the number of bytes written
+    public static long write(DataOutput out, EncodedBlock block) throws IOException {
+        EncodedText payload = block.getPayload();
+        long written = writeHeader(out, block.getRawLength(), block.getCrc(), block.getCodeTable(), payload.getBitLength());
+        out.write(payload.getData(), 0, payload.getByteLength());
+        return written + payload.getByteLength();
+    }
+
+    // everything of a block up to its payload, returns the number of bytes written
+    public static long writeHeader(DataOutput out, int rawLength, int crc, CodeTable table, long bitLength) throws IOException {
+        byte[] header = new CodeLengthHeader(table).toBytes();
+        out.writeInt(rawLength);
+        out.writeInt(crc);
+        out.write(header);
+        out.writeLong(bitLength);
+        return 4 + 4 + header.length + 8;
+    }
+
+    // returns null on the end marker
+    public static EncodedBlock read(DataInput in, int maxBlockSize) throws IOException {
+        int rawLength = in.readInt();
+        if (rawLength == 0){
+            return null;
+        }
+        if (rawLength < 0 || rawLength > maxBlockSize){
+            throw new IOException("corrupt block length " + rawLength);
+        }
+        int crc = in.readInt();
+        CodeTable table = CodeLengthHeader.read(in).getCodeTable();
+        long bitLength = in.readLong();
+        if (bitLength < 0 || bitLength > (long) rawLength * CanonicalCode.MAX_CODE_LENGTH || (bitLength + 7) / 8 > Integer.MAX_VALUE - 8){
+            throw new IOException("corrupt block bit length " + bitLength);
+        }
+        byte[] payload = new byte[(int) ((bitLength + 7) / 8)];
+        in.readFully(payload);
+        return new EncodedBlock(rawLength, crc, table, new EncodedText(payload, bitLength, rawLength));
+    }
+}
@@ -0,0 +1,131 @@
+package huffman.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import huffman.algorithm.BitWriter;
+import huffman.algorithm.ByteCompressor;
+import huffman.algorithm.ByteFrequencyCounter;
+import huffman.model.CodeTable;
+
+// Encodes fixed-size blocks concurrently on the given executor and writes them to a .huf
+// container in input order. At most `window` encoded blocks are in flight at any time.
+public class BlockCompressor {
+    private final ExecutorService executor;
+    private final int blockSize;
+    private final int window;
+    private final boolean sharedTree;
+
+    public BlockCompressor(ExecutorService executor, int blockSize, int window, boolean sharedTree){
+        if (window < 1){
+            throw new IllegalArgumentException("window must be at least 1");
+        }
+        this.executor = executor;
+        this.blockSize = blockSize;
+        this.window = window;
+        this.sharedTree = sharedTree;
+    }
+
+    public BlockCompressor(ExecutorService executor, int blockSize, int threads){
+        this(executor, blockSize, 2 * threads, false);
+    }
+
+    public void compress(byte[] data, OutputStream out) throws IOException {
+        CodeTable shared = sharedTree && data.length > 0 ? ByteCompressor.buildCode(ByteFrequencyCounter.getFrequencyParallel(data), HufFormat.MAX_CODE_LENGTH) : null;
+        HufWriter writer = new HufWriter(out, blockSize);
+        Deque<Future<EncodedBlock>> pending = new ArrayDeque<>();
+        try {
+            for (int offset=0; offset<data.length; offset+=blockSize){
+                int from = offset;
+                int length = Math.min(blockSize, data.length - offset);
+                pending.add(executor.submit(() -> encode(data, from, length, shared)));
+                if (pending.size() >= window){
+                    writer.writeBlock(await(pending.poll()));
+                }
+            }
+            finish(writer, pending);
+        } finally {
+            cancel(pending);
+        }
+    }
+
+    // per-block trees only, a shared tree would need a first pass over the stream
+    public void compress(InputStream in, OutputStream out) throws IOException {
+        compress(in, out, null);
+    }
+
+    public void compress(Path source, Path target) throws IOException {
+        CodeTable shared = null;
+        if (sharedTree && Files.size(source) > 0){
+            shared = ByteCompressor.buildCode(ByteFrequencyCounter.toIntFrequencies(
+                    ByteFrequencyCounter.getFrequencyParallel(source, ForkJoinPool.commonPool())), HufFormat.MAX_CODE_LENGTH);
+        }
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), 1 << 16)) {
+            compress(in, out, shared);
+        }
+    }
+
+    private void compress(InputStream in, OutputStream out, CodeTable shared) throws IOException {
+        HufWriter writer = new HufWriter(out, blockSize);
+        Deque<Future<EncodedBlock>> pending = new ArrayDeque<>();
+        try {
+            while (true){
+                byte[] block = in.readNBytes(blockSize);
+                if (block.length == 0){break;}
+                pending.add(executor.submit(() -> encode(block, 0, block.length, shared)));
+                if (pending.size() >= window){
+                    writer.writeBlock(await(pending.poll()));
+                }
+            }
+            finish(writer, pending);
+        } finally {
+            cancel(pending);
+        }
+    }
+
+    private static EncodedBlock encode(byte[] data, int offset, int length, CodeTable shared){
+        BitWriter bits = new BitWriter(length/2);
+        if (shared == null){
+            return BlockCodec.encode(data, offset, length, bits);
+        }
+        return BlockCodec.encode(data, offset, length, shared, bits);
+    }
+
+    private static void finish(HufWriter writer, Deque<Future<EncodedBlock>> pending) throws IOException {
+        while (!pending.isEmpty()){
+            writer.writeBlock(await(pending.poll()));
+        }
+        writer.close();
+    }
+
+    // blocks still in flight when a read, an encode or a write failed; they would otherwise
+    // keep running on the caller's executor after compress has thrown
+    private static void cancel(Deque<Future<EncodedBlock>> pending){
+        for (Future<EncodedBlock> f : pending){
+            f.cancel(true);
+        }
+    }
+
+    private static EncodedBlock await(Future<EncodedBlock> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while encoding blocks");
+        } catch (ExecutionException e) {
+            throw new IOException("block encoding failed", e.getCause());
+        }
+    }
+}
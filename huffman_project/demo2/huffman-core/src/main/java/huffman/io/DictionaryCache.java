@@ -0,0 +1,66 @@
+package huffman.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// In-process LRU of loaded dictionaries (and their decoding tables) keyed by dictionary id.
+public class DictionaryCache {
+    public interface Loader {
+        HuffmanDictionary load(int id) throws IOException;
+    }
+
+    private final Loader loader;
+    private final Map<Integer,HuffmanDictionary> entries;
+
+    public DictionaryCache(int maxEntries, Loader loader){
+        if (maxEntries < 1){
+            throw new IllegalArgumentException("cache needs room for at least one dictionary");
+        }
+        this.loader = loader;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer,HuffmanDictionary> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static DictionaryCache forDirectory(Path directory, int maxEntries){
+        return new DictionaryCache(maxEntries, id -> {
+            HuffmanDictionary res = HuffmanDictionary.load(HuffmanDictionary.fileName(directory, id));
+            if (res.getId() != id){
+                throw new IOException("dictionary file for " + Integer.toHexString(id) + " holds " + Integer.toHexString(res.getId()));
+            }
+            return res;
+        });
+    }
+
+    public synchronized void put(HuffmanDictionary dictionary){
+        entries.put(dictionary.getId(), dictionary);
+    }
+
+    public HuffmanDictionary get(int id) throws IOException {
+        synchronized (this){
+            HuffmanDictionary cached = entries.get(id);
+            if (cached != null){
+                return cached;
+            }
+        }
+        HuffmanDictionary loaded = loader.load(id);
+        loaded.getDecoder();
+        synchronized (this){
+            entries.put(id, loaded);
+        }
+        return loaded;
+    }
+
+    public synchronized int size(){
+        return entries.size();
+    }
+
+    public byte[] decompress(byte[] message) throws IOException {
+        return get(HuffmanDictionary.readId(message)).decompress(message);
+    }
+}
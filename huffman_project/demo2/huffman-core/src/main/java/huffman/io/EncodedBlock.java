@@ -0,0 +1,23 @@
+package huffman.io;
+
+import huffman.model.CodeTable;
+import huffman.model.EncodedText;
+
+public class EncodedBlock {
+    private final int rawLength;
+    private final int crc;
+    private final CodeTable codeTable;
+    private final EncodedText payload;
+
+    public EncodedBlock(int rawLength, int crc, CodeTable codeTable, EncodedText payload){
+        this.rawLength = rawLength;
+        this.crc = crc;
+        this.codeTable = codeTable;
+        this.payload = payload;
+    }
+
+    public int getRawLength(){return rawLength;}
+    public int getCrc(){return crc;}
+    public CodeTable getCodeTable(){return codeTable;}
+    public EncodedText getPayload(){return payload;}
+}
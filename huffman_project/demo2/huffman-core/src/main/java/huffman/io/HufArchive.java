@@ -0,0 +1,195 @@
+package huffman.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// Random access to a .huf file through its block index: single blocks can be decoded on
+// their own, and whole archives are decoded block-parallel into their final positions.
+public class HufArchive implements Closeable {
+    private final FileChannel channel;
+    private final int blockSize;
+    private final long[] fileOffsets;
+    private final long[] rawOffsets;
+    private final int[] rawLengths;
+    private final long indexOffset;
+
+    public HufArchive(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            DataInputStream header = readAt(0, HufFormat.FILE_HEADER_SIZE);
+            byte[] magic = new byte[HufFormat.MAGIC.length];
+            header.readFully(magic);
+            if (!Arrays.equals(magic, HufFormat.MAGIC)){
+                throw new IOException("not a .huf container");
+            }
+            int version = header.readUnsignedByte();
+            if (version != HufFormat.VERSION){
+                throw new IOException("unsupported .huf version " + version);
+            }
+            header.readUnsignedByte();
+            this.blockSize = header.readInt();
+            if (blockSize <= 0 || blockSize > HufFormat.MAX_BLOCK_SIZE){
+                throw new IOException("corrupt block size " + blockSize);
+            }
+
+            long size = channel.size();
+            if (size < HufFormat.FILE_HEADER_SIZE + 4 + 4 + HufFormat.TRAILER_SIZE){
+                throw new IOException("missing or corrupt block index");
+            }
+            DataInputStream trailer = readAt(size - HufFormat.TRAILER_SIZE, HufFormat.TRAILER_SIZE);
+            this.indexOffset = trailer.readLong();
+            byte[] trailerMagic = new byte[HufFormat.TRAILER_MAGIC.length];
+            trailer.readFully(trailerMagic);
+            if (!Arrays.equals(trailerMagic, HufFormat.TRAILER_MAGIC) || indexOffset < HufFormat.FILE_HEADER_SIZE + 4 || indexOffset > size - HufFormat.TRAILER_SIZE - 4){
+                throw new IOException("missing or corrupt block index");
+            }
+            DataInputStream index = readAt(indexOffset, (int) (size - HufFormat.TRAILER_SIZE - indexOffset));
+            int count = index.readInt();
+            if (count < 0 || (long) count * HufFormat.INDEX_ENTRY_SIZE != size - HufFormat.TRAILER_SIZE - indexOffset - 4){
+                throw new IOException("corrupt block index");
+            }
+            fileOffsets = new long[count];
+            rawOffsets = new long[count];
+            rawLengths = new int[count];
+            long nextRaw = 0;
+            long nextFile = HufFormat.FILE_HEADER_SIZE;
+            for (int i=0; i<count; i++){
+                fileOffsets[i] = index.readLong();
+                rawOffsets[i] = index.readLong();
+                rawLengths[i] = index.readInt();
+                // blocks follow each other in both the file and the raw data, before the end marker
+                if (fileOffsets[i] < nextFile || fileOffsets[i] >= indexOffset - 4 || rawOffsets[i] != nextRaw
+                        || rawLengths[i] <= 0 || rawLengths[i] > blockSize){
+                    throw new IOException("corrupt block index entry " + i);
+                }
+                nextFile = fileOffsets[i] + 1;
+                nextRaw += rawLengths[i];
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getBlockSize(){return blockSize;}
+    public int getBlockCount(){return rawLengths.length;}
+    public long getBlockOffset(int block){return rawOffsets[block];}
+    public int getBlockLength(int block){return rawLengths[block];}
+
+    public long getUncompressedSize(){
+        int last = rawLengths.length - 1;
+        return last < 0 ? 0 : rawOffsets[last] + rawLengths[last];
+    }
+
+    public int findBlock(long rawOffset){
+        int i = Arrays.binarySearch(rawOffsets, rawOffset);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    public byte[] readBlock(int block) throws IOException {
+        byte[] res = new byte[rawLengths[block]];
+        readBlock(block, res, 0);
+        return res;
+    }
+
+    public void readBlock(int block, byte[] out, int offset) throws IOException {
+        Objects.checkIndex(block, rawLengths.length);
+        // the end marker (4 bytes) sits right before the index
+        long end = block + 1 < fileOffsets.length ? fileOffsets[block+1] : indexOffset - 4;
+        EncodedBlock encoded = BlockCodec.read(readAt(fileOffsets[block], (int) (end - fileOffsets[block])), blockSize);
+        if (encoded == null || encoded.getRawLength() != rawLengths[block]){
+            throw new IOException("block " + block + " does not match the index");
+        }
+        BlockCodec.decode(encoded, out, offset);
+    }
+
+    public byte[] readAll(ExecutorService executor) throws IOException {
+        long size = getUncompressedSize();
+        if (size > Integer.MAX_VALUE - 8){
+            throw new IOException("archive of " + size + " bytes does not fit in an array, use decompressTo");
+        }
+        byte[] res = new byte[(int) size];
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i=0; i<rawLengths.length; i++){
+            int block = i;
+            futures.add(executor.submit(() -> {
+                readBlock(block, res, (int) rawOffsets[block]);
+                return null;
+            }));
+        }
+        awaitAll(futures);
+        return res;
+    }
+
+    // each worker writes its block at the block's offset in the target file
+    public void decompressTo(Path target, ExecutorService executor) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i=0; i<rawLengths.length; i++){
+                int block = i;
+                futures.add(executor.submit(() -> {
+                    ByteBuffer decoded = ByteBuffer.wrap(readBlock(block));
+                    long position = rawOffsets[block];
+                    while (decoded.hasRemaining()){
+                        position += out.write(decoded, position);
+                    }
+                    return null;
+                }));
+            }
+            awaitAll(futures);
+        }
+    }
+
+    private DataInputStream readAt(long position, int length) throws IOException {
+        if (length < 0){
+            throw new IOException("corrupt offset");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()){
+            if (channel.read(buffer, position + buffer.position()) < 0){
+                throw new EOFException("unexpected end of .huf file");
+            }
+        }
+        return new DataInputStream(new ByteArrayInputStream(buffer.array()));
+    }
+
+    private static void awaitAll(List<Future<Void>> futures) throws IOException {
+        try {
+            for (Future<Void> f : futures){
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while decoding blocks");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException){
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("block decoding failed", e.getCause());
+        } finally {
+            for (Future<Void> f : futures){
+                f.cancel(true);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
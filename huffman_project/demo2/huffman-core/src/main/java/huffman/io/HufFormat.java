@@ -0,0 +1,44 @@
+package huffman.io;
+
+// Layout of a .huf container, all integers big-endian:
+//
+//   file header : "HUF" version(1 byte) flags(1 byte) blockSize(int)
+//   block*      : rawLength(int, > 0) crc32(int) code-length header bitLength(long) payload
+//   end marker  : rawLength = 0
+//   block index : blockCount(int) then per block fileOffset(long) rawOffset(long) rawLength(int)
+//   trailer     : indexOffset(long) "HUFX"
+//
+// Every block carries its own canonical code, so a stream can be decoded block by block
+// without ever holding more than one block in memory. The index lets readers seek to any block.
+public final class HufFormat {
+    public static final byte[] MAGIC = {'H', 'U', 'F'};
+    public static final byte[] TRAILER_MAGIC = {'H', 'U', 'F', 'X'};
+    public static final int VERSION = 1;
+    public static final int FILE_HEADER_SIZE = 3 + 1 + 1 + 4;
+    public static final int TRAILER_SIZE = 8 + 4;
+    public static final int INDEX_ENTRY_SIZE = 8 + 8 + 4;
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+    public static final int MAX_BLOCK_SIZE = 1 << 30;
+    // block codes are length-limited so decoding tables stay small and codes fit one BitWriter word
+    public static final int MAX_CODE_LENGTH = 24;
+    public static final String EXTENSION = ".huf";
+
+    // Adaptive streams: "HUFA" version(1 byte) rebuildInterval(int), then one continuous bitstream.
+    // The code is rebuilt from running counts on both sides, a SYNC symbol pads to a byte boundary
+    // on flush() and an EOF symbol ends the stream.
+    public static final byte[] ADAPTIVE_MAGIC = {'H', 'U', 'F', 'A'};
+    public static final int DEFAULT_REBUILD_INTERVAL = 4096;
+
+    // Dictionary files: "HUFD" version(1 byte) id(int) headerLength(int) code-length header crc32(int).
+    // Messages compressed against a dictionary: id(int) varint length, payload.
+    public static final byte[] DICTIONARY_MAGIC = {'H', 'U', 'F', 'D'};
+    public static final String DICTIONARY_EXTENSION = ".hufd";
+    public static final String MESSAGE_EXTENSION = ".hufm";
+
+    // Token-coded text: "HUFT" version(1 byte) varint tokenCount, then unless the text is empty
+    // the symbol dictionary in sorted order, the code-length header over token ids and the
+    // payload up to the end.
+    public static final byte[] TOKEN_MAGIC = {'H', 'U', 'F', 'T'};
+
+    private HufFormat(){}
+}
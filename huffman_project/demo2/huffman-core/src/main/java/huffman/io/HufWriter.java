@@ -0,0 +1,122 @@
+package huffman.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import huffman.model.CodeTable;
+
+// Writes the framing of a .huf container around blocks that were encoded elsewhere.
+public class HufWriter {
+    private final CountingOutputStream counter;
+    private final DataOutputStream out;
+    private final int blockSize;
+    private final WritableByteChannel channel;
+    private long rawOffset = 0;
+    private final List<long[]> index = new ArrayList<>();
+
+    public HufWriter(OutputStream out, int blockSize) throws IOException {
+        this(out, null, blockSize);
+    }
+
+    // payloads passed as ByteBuffers go straight to the channel, only the framing is buffered
+    public HufWriter(WritableByteChannel channel, int blockSize) throws IOException {
+        this(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 12), channel, blockSize);
+    }
+
+    private HufWriter(OutputStream out, WritableByteChannel channel, int blockSize) throws IOException {
+        if (blockSize <= 0 || blockSize > HufFormat.MAX_BLOCK_SIZE){
+            throw new IllegalArgumentException("block size must be in 1.." + HufFormat.MAX_BLOCK_SIZE);
+        }
+        this.counter = new CountingOutputStream(out);
+        this.out = new DataOutputStream(counter);
+        this.blockSize = blockSize;
+        this.channel = channel;
+        this.out.write(HufFormat.MAGIC);
+        this.out.writeByte(HufFormat.VERSION);
+        this.out.writeByte(0);
+        this.out.writeInt(blockSize);
+    }
+
+    public int getBlockSize(){return blockSize;}
+
+    public void writeBlock(EncodedBlock block) throws IOException {
+        if (block.getRawLength() == 0){return;}
+        if (block.getRawLength() > blockSize){
+            throw new IllegalArgumentException("block of " + block.getRawLength() + " bytes exceeds the block size " + blockSize);
+        }
+        index.add(new long[]{counter.count, rawOffset, block.getRawLength()});
+        BlockCodec.write(out, block);
+        rawOffset += block.getRawLength();
+    }
+
+    // payload holds the packed bits between its position and limit
+    public void writeBlock(int rawLength, int crc, CodeTable table, long bitLength, ByteBuffer payload) throws IOException {
+        if (rawLength <= 0 || rawLength > blockSize){
+            throw new IllegalArgumentException("block of " + rawLength + " bytes outside 1.." + blockSize);
+        }
+        if (payload.remaining() != (bitLength + 7) / 8){
+            throw new IllegalArgumentException("payload size does not match " + bitLength + " bits");
+        }
+        index.add(new long[]{counter.count, rawOffset, rawLength});
+        BlockCodec.writeHeader(out, rawLength, crc, table, bitLength);
+        if (channel == null){
+            while (payload.hasRemaining()){
+                out.write(payload.get());
+            }
+        }
+        else{
+            out.flush();
+            while (payload.hasRemaining()){
+                counter.count += channel.write(payload);
+            }
+        }
+        rawOffset += rawLength;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    // writes the end marker, block index and trailer, then closes the underlying stream
+    public void close() throws IOException {
+        out.writeInt(0);
+        long indexOffset = counter.count;
+        out.writeInt(index.size());
+        for (long[] entry : index){
+            out.writeLong(entry[0]);
+            out.writeLong(entry[1]);
+            out.writeInt((int) entry[2]);
+        }
+        out.writeLong(indexOffset);
+        out.write(HufFormat.TRAILER_MAGIC);
+        out.close();
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        long count = 0;
+
+        CountingOutputStream(OutputStream out){
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
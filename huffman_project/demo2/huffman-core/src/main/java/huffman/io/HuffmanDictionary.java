@@ -0,0 +1,152 @@
+package huffman.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import huffman.algorithm.BitReader;
+import huffman.algorithm.BitWriter;
+import huffman.algorithm.ByteCompressor;
+import huffman.algorithm.ByteFrequencyCounter;
+import huffman.algorithm.TableDecoder;
+import huffman.model.CodeLengthHeader;
+import huffman.model.CodeTable;
+
+// A byte code trained once on sample messages and shared by reference, so small messages
+// carry a 4 byte dictionary id instead of their own code table.
+public class HuffmanDictionary {
+    private final int id;
+    private final CodeTable table;
+    private final byte[] header;
+    private volatile TableDecoder decoder;
+
+    public HuffmanDictionary(int id, CodeTable table){
+        this.id = id;
+        this.table = table;
+        this.header = new CodeLengthHeader(table).toBytes();
+    }
+
+    // every byte value gets a code, so messages unlike the samples still compress
+    public static HuffmanDictionary train(Iterable<byte[]> samples){
+        long[] counts = new long[256];
+        Arrays.fill(counts, 1);
+        for (byte[] sample : samples){
+            for (byte b : sample){
+                counts[b & 0xFF]++;
+            }
+        }
+        // scaled like BlockCompressor does, so the summed node weights of a large corpus fit an int
+        CodeTable table = ByteCompressor.buildCode(ByteFrequencyCounter.toIntFrequencies(counts), HufFormat.MAX_CODE_LENGTH);
+        byte[] header = new CodeLengthHeader(table).toBytes();
+        return new HuffmanDictionary(crc(header), table);
+    }
+
+    public int getId(){return id;}
+    public CodeTable getCodeTable(){return table;}
+    public int getChecksum(){return crc(header);}
+
+    public TableDecoder getDecoder(){
+        TableDecoder res = decoder;
+        if (res == null){
+            res = new TableDecoder(table);
+            decoder = res;
+        }
+        return res;
+    }
+
+    public byte[] compress(byte[] message){
+        BitWriter writer = new BitWriter(message.length);
+        ByteCompressor.compress(message, 0, message.length, table, writer);
+        byte[] payload = writer.toByteArray();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length + 9);
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(id);
+            CodeLengthHeader.writeVarInt(out, message.length);
+            out.write(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public byte[] decompress(byte[] message) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(message));
+        int messageId = in.readInt();
+        if (messageId != id){
+            throw new IOException("message was compressed with dictionary " + Integer.toHexString(messageId));
+        }
+        int length = CodeLengthHeader.readVarInt(in);
+        int offset = message.length - in.available();
+        if (length < 0 || length > (long) (message.length - offset) * 8){
+            throw new IOException("corrupt message length " + length);
+        }
+        byte[] res = new byte[length];
+        try {
+            getDecoder().decode(new BitReader(message, (long) offset * 8, (long) message.length * 8), res, 0, length);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupt message: " + e.getMessage(), e);
+        }
+        return res;
+    }
+
+    public static int readId(byte[] message) throws IOException {
+        if (message.length < 4){
+            throw new IOException("message too short");
+        }
+        return ((message[0] & 0xFF) << 24) | ((message[1] & 0xFF) << 16) | ((message[2] & 0xFF) << 8) | (message[3] & 0xFF);
+    }
+
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.write(HufFormat.DICTIONARY_MAGIC);
+            out.writeByte(HufFormat.VERSION);
+            out.writeInt(id);
+            out.writeInt(header.length);
+            out.write(header);
+            out.writeInt(crc(header));
+        }
+    }
+
+    public static HuffmanDictionary load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            byte[] magic = new byte[HufFormat.DICTIONARY_MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, HufFormat.DICTIONARY_MAGIC)){
+                throw new IOException("not a dictionary file: " + file);
+            }
+            int version = in.readUnsignedByte();
+            if (version != HufFormat.VERSION){
+                throw new IOException("unsupported dictionary version " + version);
+            }
+            int id = in.readInt();
+            int length = in.readInt();
+            if (length < 0 || length > 1 << 16){
+                throw new IOException("corrupt dictionary header length " + length);
+            }
+            byte[] header = new byte[length];
+            in.readFully(header);
+            if (in.readInt() != crc(header)){
+                throw new IOException("dictionary checksum mismatch: " + file);
+            }
+            return new HuffmanDictionary(id, CodeLengthHeader.fromBytes(header).getCodeTable());
+        }
+    }
+
+    public static Path fileName(Path directory, int id){
+        return directory.resolve(String.format("%08x", id) + HufFormat.DICTIONARY_EXTENSION);
+    }
+
+    private static int crc(byte[] bytes){
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+}
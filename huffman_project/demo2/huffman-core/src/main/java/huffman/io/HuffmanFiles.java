@@ -0,0 +1,31 @@
+package huffman.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class HuffmanFiles {
+    private static final int IO_BUFFER = 1 << 16;
+
+    public static void compress(Path source, Path target) throws IOException {
+        compress(source, target, HufFormat.DEFAULT_BLOCK_SIZE);
+    }
+
+    public static void compress(Path source, Path target, int blockSize) throws IOException {
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream out = new HuffmanOutputStream(new BufferedOutputStream(Files.newOutputStream(target), IO_BUFFER), blockSize)) {
+            in.transferTo(out);
+        }
+    }
+
+    public static void decompress(Path source, Path target) throws IOException {
+        try (InputStream in = new HuffmanInputStream(new BufferedInputStream(Files.newInputStream(source), IO_BUFFER));
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), IO_BUFFER)) {
+            in.transferTo(out);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package huffman.io;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+public class HuffmanInputStream extends InputStream {
+    private final DataInputStream in;
+    private final int blockSize;
+    private byte[] block = new byte[0];
+    private int length = 0;
+    private int position = 0;
+    private boolean finished = false;
+
+    public HuffmanInputStream(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+        byte[] magic = new byte[HufFormat.MAGIC.length];
+        this.in.readFully(magic);
+        if (!Arrays.equals(magic, HufFormat.MAGIC)){
+            throw new IOException("not a .huf container");
+        }
+        int version = this.in.readUnsignedByte();
+        if (version != HufFormat.VERSION){
+            throw new IOException("unsupported .huf version " + version);
+        }
+        this.in.readUnsignedByte();
+        this.blockSize = this.in.readInt();
+        if (blockSize <= 0 || blockSize > HufFormat.MAX_BLOCK_SIZE){
+            throw new IOException("corrupt block size " + blockSize);
+        }
+    }
+
+    public int getBlockSize(){return blockSize;}
+
+    private boolean nextBlock() throws IOException {
+        if (finished){return false;}
+        EncodedBlock encoded = BlockCodec.read(in, blockSize);
+        if (encoded == null){
+            // the block index and trailer are only needed for random access
+            finished = true;
+            return false;
+        }
+        if (block.length < encoded.getRawLength()){
+            block = new byte[encoded.getRawLength()];
+        }
+        BlockCodec.decode(encoded, block, 0);
+        length = encoded.getRawLength();
+        position = 0;
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == length && !nextBlock()){
+            return -1;
+        }
+        return block[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0){return 0;}
+        if (position == length && !nextBlock()){
+            return -1;
+        }
+        int n = Math.min(len, length - position);
+        System.arraycopy(block, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available(){
+        return length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,76 @@
+package huffman.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import huffman.algorithm.BitWriter;
+
+public class HuffmanOutputStream extends OutputStream {
+    private final HufWriter out;
+    private final byte[] block;
+    private final BitWriter writer;
+    private int filled = 0;
+    private boolean closed = false;
+
+    public HuffmanOutputStream(OutputStream out) throws IOException {
+        this(out, HufFormat.DEFAULT_BLOCK_SIZE);
+    }
+
+    public HuffmanOutputStream(OutputStream out, int blockSize) throws IOException {
+        this.out = new HufWriter(out, blockSize);
+        this.block = new byte[blockSize];
+        this.writer = new BitWriter(blockSize);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[filled++] = (byte) b;
+        if (filled == block.length){
+            writeBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0){
+            int n = Math.min(len, block.length - filled);
+            System.arraycopy(b, off, block, filled, n);
+            filled += n;
+            off += n;
+            len -= n;
+            if (filled == block.length){
+                writeBlock();
+            }
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (filled == 0){return;}
+        out.writeBlock(BlockCodec.encode(block, 0, filled, writer));
+        filled = 0;
+    }
+
+    // writes the pending partial block, the container stays open for more data
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        writeBlock();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed){return;}
+        writeBlock();
+        closed = true;
+        out.close();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed){
+            throw new IOException("stream closed");
+        }
+    }
+}
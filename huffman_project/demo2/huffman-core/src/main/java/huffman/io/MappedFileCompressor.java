@@ -0,0 +1,64 @@
+package huffman.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+
+import huffman.algorithm.ByteCompressor;
+import huffman.algorithm.ByteFrequencyCounter;
+import huffman.model.CodeTable;
+
+// Compresses a file into a .huf container without pulling it onto the heap: the input is
+// counted and encoded block by block from mapped regions, and each block is packed into one
+// reusable direct buffer that is written straight to the output channel. One code is built
+// from the whole file and shared by all blocks.
+//
+// Regions span a whole number of blocks up to about 1 GiB, like the counting pass of
+// ByteFrequencyCounter, and blocks are slices of them. Only a handful of mappings exist for
+// any file size, so leaving their release to GC does not let them pile up.
+public class MappedFileCompressor {
+    private static final long MAP_REGION = 1L << 30;
+
+    public static void compress(Path source, Path target) throws IOException {
+        compress(source, target, HufFormat.DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public static void compress(Path source, Path target, int blockSize, ForkJoinPool pool) throws IOException {
+        compress(source, target, blockSize, MAP_REGION, pool);
+    }
+
+    // mapRegion is rounded down to whole blocks, at least one
+    static void compress(Path source, Path target, int blockSize, long mapRegion, ForkJoinPool pool) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            HufWriter writer = new HufWriter(out, blockSize);
+            long size = in.size();
+            if (size > 0){
+                CodeTable table = ByteCompressor.buildCode(
+                        ByteFrequencyCounter.toIntFrequencies(ByteFrequencyCounter.getFrequencyParallel(source, pool)), HufFormat.MAX_CODE_LENGTH);
+                ByteBuffer packed = ByteBuffer.allocateDirect((int) Math.min((long) blockSize * HufFormat.MAX_CODE_LENGTH / 8 + 8, Integer.MAX_VALUE));
+                CRC32 crc = new CRC32();
+                long regionSize = Math.max(1, mapRegion / blockSize) * blockSize;
+                for (long start=0; start<size; start+=regionSize){
+                    MappedByteBuffer region = in.map(FileChannel.MapMode.READ_ONLY, start, Math.min(regionSize, size - start));
+                    for (int offset=0; offset<region.capacity(); offset+=blockSize){
+                        int length = Math.min(blockSize, region.capacity() - offset);
+                        ByteBuffer block = region.slice(offset, length);
+                        packed.clear();
+                        long bits = ByteCompressor.compress(block, table, packed);
+                        packed.flip();
+                        crc.reset();
+                        crc.update(block);
+                        writer.writeBlock(length, (int) crc.getValue(), table, bits, packed);
+                    }
+                }
+            }
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package huffman.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import huffman.algorithm.BitReader;
+import huffman.algorithm.BitWriter;
+import huffman.algorithm.ByteCompressor;
+import huffman.algorithm.TableDecoder;
+import huffman.algorithm.Tokenizer;
+import huffman.model.CodeLengthHeader;
+import huffman.model.CodeTable;
+import huffman.model.SymbolDictionary;
+
+// Text compressed over tokens instead of single chars, see HufFormat for the layout.
+// The dictionary travels with the data, so decoding does not need to know the tokenizer.
+public class TokenCodec {
+    public static byte[] compress(String text, Tokenizer tokenizer){
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(text.length() / 2 + 16);
+        try {
+            compress(text, tokenizer, bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static void compress(String text, Tokenizer tokenizer, OutputStream target) throws IOException {
+        SymbolDictionary dictionary = new SymbolDictionary();
+        int[] tokens = tokenizer.tokenize(text, dictionary);
+        int[] remap = dictionary.sort();
+        for (int i=0; i<tokens.length; i++){
+            tokens[i] = remap[tokens[i]];
+        }
+        DataOutputStream out = new DataOutputStream(target);
+        out.write(HufFormat.TOKEN_MAGIC);
+        out.writeByte(HufFormat.VERSION);
+        CodeLengthHeader.writeVarInt(out, tokens.length);
+        if (tokens.length > 0){
+            int[] frequencies = new int[dictionary.size()];
+            for (int t : tokens){
+                frequencies[t]++;
+            }
+            CodeTable table = ByteCompressor.buildCode(frequencies, HufFormat.MAX_CODE_LENGTH);
+            dictionary.write(out);
+            new CodeLengthHeader(table).write(out);
+            long[] codes = table.codes();
+            byte[] lengths = table.lengths();
+            BitWriter writer = new BitWriter(tokens.length);
+            for (int t : tokens){
+                writer.write(codes[t], lengths[t]);
+            }
+            writer.alignToByte();
+            writer.drainTo(out);
+        }
+        out.flush();
+    }
+
+    public static String decompress(byte[] data) throws IOException {
+        return decompress(new ByteArrayInputStream(data));
+    }
+
+    public static String decompress(InputStream source) throws IOException {
+        DataInputStream in = new DataInputStream(source);
+        byte[] magic = new byte[HufFormat.TOKEN_MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, HufFormat.TOKEN_MAGIC)){
+            throw new IOException("not a token-coded stream");
+        }
+        int version = in.readUnsignedByte();
+        if (version != HufFormat.VERSION){
+            throw new IOException("unsupported version " + version);
+        }
+        int count = CodeLengthHeader.readVarInt(in);
+        if (count < 0){
+            throw new IOException("corrupt token count " + count);
+        }
+        if (count == 0){
+            return "";
+        }
+        SymbolDictionary dictionary = SymbolDictionary.read(in);
+        CodeTable table = CodeLengthHeader.read(in).getCodeTable();
+        for (int i=0; i<table.size(); i++){
+            if (table.getSymbol(i) >= dictionary.size()){
+                throw new IOException("code for token " + table.getSymbol(i) + " missing from the dictionary");
+            }
+        }
+        byte[] payload = in.readAllBytes();
+        if (count > (long) payload.length * 8){
+            throw new IOException("corrupt token count " + count);
+        }
+        int[] tokens = new int[count];
+        try {
+            new TableDecoder(table).decode(new BitReader(payload, 0, (long) payload.length * 8), tokens, 0, count);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupt payload: " + e.getMessage(), e);
+        }
+        StringBuilder res = new StringBuilder(count * 4);
+        for (int t : tokens){
+            res.append(dictionary.getToken(t));
+        }
+        return res.toString();
+    }
+}
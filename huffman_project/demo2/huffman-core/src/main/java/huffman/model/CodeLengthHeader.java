@@ -0,0 +1,129 @@
+package huffman.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import huffman.algorithm.CanonicalCode;
+
+// Serialized form of a canonical code: only the symbol -> length pairs are stored.
+//   varint symbolCount, byte maxLength,
+//   then for each length 1..maxLength: varint n, followed by n ascending symbols as varint deltas
+public class CodeLengthHeader {
+    private final CodeTable table;
+
+    public CodeLengthHeader(CodeTable table){
+        this.table = table;
+    }
+
+    public CodeTable getCodeTable(){return table;}
+
+    public void write(DataOutput out) throws IOException {
+        int maxLength = table.getMaxLength();
+        writeVarInt(out, table.size());
+        out.writeByte(maxLength);
+        int[] symbols = table.getSymbols();
+        Arrays.sort(symbols);
+        for (int length=1; length<=maxLength; length++){
+            int n = 0;
+            for (int s : symbols){
+                if (table.getLength(s) == length){n++;}
+            }
+            writeVarInt(out, n);
+            int prev = 0;
+            for (int s : symbols){
+                if (table.getLength(s) == length){
+                    writeVarInt(out, s - prev);
+                    prev = s;
+                }
+            }
+        }
+    }
+
+    public static CodeLengthHeader read(DataInput in) throws IOException {
+        int count = readVarInt(in);
+        if (count < 0){
+            throw new IOException("corrupt code header: " + count + " symbols");
+        }
+        int maxLength = in.readUnsignedByte();
+        if (maxLength > CanonicalCode.MAX_CODE_LENGTH){
+            throw new IOException("corrupt code header: max length " + maxLength);
+        }
+        // grown as symbols arrive, so a corrupt count cannot allocate more than the input holds
+        int[] symbols = new int[Math.min(count, 256)];
+        int[] lengths = new int[symbols.length];
+        int i = 0;
+        for (int length=1; length<=maxLength; length++){
+            int n = readVarInt(in);
+            if (n < 0 || n > count - i){
+                throw new IOException("corrupt code header: too many symbols");
+            }
+            int prev = 0;
+            for (int j=0; j<n; j++){
+                if (i == symbols.length){
+                    symbols = Arrays.copyOf(symbols, (int) Math.min(count, 2L * i));
+                    lengths = Arrays.copyOf(lengths, symbols.length);
+                }
+                prev += readVarInt(in);
+                symbols[i] = prev;
+                lengths[i] = length;
+                i++;
+            }
+        }
+        if (i != count){
+            throw new IOException("corrupt code header: expected " + count + " symbols, got " + i);
+        }
+        int[] sorted = symbols.clone();
+        Arrays.sort(sorted);
+        for (int k=1; k<count; k++){
+            if (sorted[k] == sorted[k-1]){
+                throw new IOException("corrupt code header: symbol " + sorted[k] + " listed twice");
+            }
+        }
+        try {
+            return new CodeLengthHeader(CanonicalCode.fromLengths(symbols, lengths));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupt code header: " + e.getMessage(), e);
+        }
+    }
+
+    public byte[] toBytes(){
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            write(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static CodeLengthHeader fromBytes(byte[] bytes) throws IOException {
+        return read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    public static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0){
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    public static int readVarInt(DataInput in) throws IOException {
+        int res = 0;
+        for (int shift=0; shift<32; shift+=7){
+            int b = in.readUnsignedByte();
+            res |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0){
+                return res;
+            }
+        }
+        throw new IOException("malformed varint");
+    }
+}
@@ -0,0 +1,83 @@
+package huffman.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+// The code points of a text numbered 0..size-1 in code point order, so a CodeTable over the
+// dense ids stays as small as the alphabet even for emoji and other supplementary characters.
+//
+// Lookup goes through 256-entry pages of the BMP, allocated only for the pages the text uses,
+// and an IntIntMap for the higher planes. Serialized as varint count then varint deltas.
+public class CodePointAlphabet {
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    private final int[] codePoints;
+    private final int[][] pages = new int[(Character.MAX_VALUE + 1) >>> PAGE_BITS][];
+    private final IntIntMap supplementary = new IntIntMap();
+
+    // code points in any order, without duplicates
+    public CodePointAlphabet(int[] codePoints){
+        this.codePoints = codePoints.clone();
+        Arrays.sort(this.codePoints);
+        for (int id=0; id<this.codePoints.length; id++){
+            int cp = this.codePoints[id];
+            if (cp < 0 || cp > Character.MAX_CODE_POINT || (id > 0 && cp == this.codePoints[id - 1])){
+                throw new IllegalArgumentException("bad or duplicate code point " + cp);
+            }
+            if (cp <= Character.MAX_VALUE){
+                int[] page = pages[cp >>> PAGE_BITS];
+                if (page == null){
+                    page = new int[PAGE_SIZE];
+                    Arrays.fill(page, -1);
+                    pages[cp >>> PAGE_BITS] = page;
+                }
+                page[cp & (PAGE_SIZE - 1)] = id;
+            }
+            else{
+                supplementary.put(cp, id);
+            }
+        }
+    }
+
+    public int size(){return codePoints.length;}
+    public int getCodePoint(int id){return codePoints[id];}
+
+    // dense id of the code point, -1 when it is not in the alphabet
+    public int indexOf(int codePoint){
+        if (codePoint <= Character.MAX_VALUE){
+            int[] page = pages[codePoint >>> PAGE_BITS];
+            return page == null ? -1 : page[codePoint & (PAGE_SIZE - 1)];
+        }
+        return supplementary.get(codePoint, -1);
+    }
+
+    public void write(DataOutput out) throws IOException {
+        CodeLengthHeader.writeVarInt(out, codePoints.length);
+        int previous = 0;
+        for (int cp : codePoints){
+            CodeLengthHeader.writeVarInt(out, cp - previous);
+            previous = cp;
+        }
+    }
+
+    public static CodePointAlphabet read(DataInput in) throws IOException {
+        int count = CodeLengthHeader.readVarInt(in);
+        if (count < 0 || count > Character.MAX_CODE_POINT + 1){
+            throw new IOException("corrupt alphabet size " + count);
+        }
+        int[] codePoints = new int[count];
+        int previous = 0;
+        for (int i=0; i<count; i++){
+            previous += CodeLengthHeader.readVarInt(in);
+            codePoints[i] = previous;
+        }
+        try {
+            return new CodePointAlphabet(codePoints);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupt alphabet: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package huffman.model;
+
+import java.util.Arrays;
+import java.util.Map;
+
+public class CodeTable {
+    private final int[] symbols;
+    private final long[] codes;
+    private final byte[] lengths;
+
+    public CodeTable(int[] symbols, long[] symbolCodes, byte[] symbolLengths){
+        int maxSymbol = -1;
+        for (int s : symbols){
+            maxSymbol = Math.max(maxSymbol, s);
+        }
+        this.symbols = symbols.clone();
+        this.codes = new long[maxSymbol+1];
+        this.lengths = new byte[maxSymbol+1];
+        for (int i=0; i<symbols.length; i++){
+            codes[symbols[i]] = symbolCodes[i];
+            lengths[symbols[i]] = symbolLengths[i];
+        }
+    }
+
+    public static CodeTable fromCodeMap(Map<Character,String> codeMap){
+        int[] symbols = new int[codeMap.size()];
+        long[] codes = new long[codeMap.size()];
+        byte[] lengths = new byte[codeMap.size()];
+        int i = 0;
+        for (Map.Entry<Character,String> e : codeMap.entrySet()){
+            String code = e.getValue();
+            symbols[i] = e.getKey();
+            // a tree with a single leaf gives it the empty code, it still needs one bit on the wire
+            lengths[i] = (byte) Math.max(1, code.length());
+            codes[i] = code.isEmpty() ? 0 : Long.parseUnsignedLong(code, 2);
+            i++;
+        }
+        return new CodeTable(symbols, codes, lengths);
+    }
+
+    public int[] getSymbols(){return symbols.clone();}
+    public int size(){return symbols.length;}
+    public int getSymbol(int index){return symbols[index];}
+
+    public boolean contains(int symbol){
+        return symbol >= 0 && symbol < lengths.length && lengths[symbol] != 0;
+    }
+
+    public long getCode(int symbol){return codes[symbol];}
+    public int getLength(int symbol){return lengths[symbol];}
+
+    public long[] codes(){return codes;}
+    public byte[] lengths(){return lengths;}
+
+    public int getMaxLength(){
+        int max = 0;
+        for (int s : symbols){
+            max = Math.max(max, lengths[s]);
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        int[] sorted = symbols.clone();
+        Arrays.sort(sorted);
+        for (int s : sorted){
+            if (sb.length() > 1){sb.append(", ");}
+            sb.append(s).append('=').append(lengths[s]).append(':').append(Long.toBinaryString(codes[s]));
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,101 @@
+package huffman.model;
+
+import huffman.algorithm.CanonicalCode;
+
+// Huffman tree stored in parallel arrays. Nodes 0..leafCount-1 are the leaves, every internal
+// node is created after (and so has a larger index than) both of its children; the root is last.
+public class CompactHuffmanTree {
+    private final int leafCount;
+    private final int[] symbol;
+    private final int[] frequency;
+    private final int[] left;
+    private final int[] right;
+
+    public CompactHuffmanTree(int[] symbol, int[] frequency, int[] left, int[] right, int leafCount){
+        this.symbol = symbol;
+        this.frequency = frequency;
+        this.left = left;
+        this.right = right;
+        this.leafCount = leafCount;
+    }
+
+    public int getLeafCount(){return leafCount;}
+    public int getNodeCount(){return frequency.length;}
+    public int getRoot(){return frequency.length - 1;}
+
+    public boolean isLeaf(int node){return node < leafCount;}
+    public int getSymbol(int node){return symbol[node];}
+    public int getFrequency(int node){return frequency[node];}
+    public int getLeft(int node){return left[node - leafCount];}
+    public int getRight(int node){return right[node - leafCount];}
+
+    // code length of every leaf, a lone leaf still gets one bit
+    public int[] getCodeLengths(){
+        int[] depth = new int[getNodeCount()];
+        for (int node=getRoot(); node>=leafCount; node--){
+            depth[getLeft(node)] = depth[node] + 1;
+            depth[getRight(node)] = depth[node] + 1;
+        }
+        int[] res = new int[leafCount];
+        for (int i=0; i<leafCount; i++){
+            res[i] = Math.max(1, depth[i]);
+        }
+        return res;
+    }
+
+    public CodeTable toCodeTable(){
+        int[] symbols = new int[leafCount];
+        System.arraycopy(symbol, 0, symbols, 0, leafCount);
+        return CanonicalCode.fromLengths(symbols, getCodeLengths());
+    }
+
+    public HuffmanNode toHuffmanNode(){
+        return toHuffmanNodes(null)[getRoot()];
+    }
+
+    // node objects indexed like this tree; leaves are reused from the given array when there is one
+    public HuffmanNode[] toHuffmanNodes(HuffmanNode[] leaves){
+        HuffmanNode[] nodes = new HuffmanNode[getNodeCount()];
+        for (int node=0; node<getNodeCount(); node++){
+            if (isLeaf(node)){
+                nodes[node] = leaves != null ? leaves[node] : new HuffmanNode((char) symbol[node], frequency[node]);
+            }
+            else{
+                nodes[node] = new HuffmanNode(null, frequency[node]);
+                nodes[node].setLeft(nodes[getLeft(node)]);
+                nodes[node].setRight(nodes[getRight(node)]);
+            }
+        }
+        return nodes;
+    }
+
+    // Construction steps as a delta log: step s merges getLeft(n+s) and getRight(n+s) into node n+s.
+    // The node list before step s is rebuilt from it in O(n): the leaves not merged yet followed
+    // in frequency order by the merged nodes not consumed yet, leaves first on ties.
+    public int getStepCount(){return leafCount;}
+
+    public int[] getStepNodes(int step){
+        if (step < 0 || step >= leafCount){
+            throw new IndexOutOfBoundsException("step " + step + " of " + leafCount);
+        }
+        int leavesUsed = 0;
+        for (int merged=leafCount; merged<leafCount+step; merged++){
+            if (isLeaf(getLeft(merged))){leavesUsed++;}
+            if (isLeaf(getRight(merged))){leavesUsed++;}
+        }
+        int leaf = leavesUsed;
+        int internal = leafCount + 2*step - leavesUsed;
+        int end = leafCount + step;
+        int[] res = new int[leafCount - step];
+        int k = 0;
+        while (leaf < leafCount || internal < end){
+            if (internal >= end || (leaf < leafCount && frequency[leaf] <= frequency[internal])){
+                res[k++] = leaf++;
+            }
+            else{
+                res[k++] = internal++;
+            }
+        }
+        return res;
+    }
+}
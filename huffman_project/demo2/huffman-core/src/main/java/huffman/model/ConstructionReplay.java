@@ -0,0 +1,32 @@
+package huffman.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+// Read-only List view of the construction steps of a CompactHuffmanTree: each step is rebuilt
+// on demand from the delta log instead of being stored as a full copy of the node list.
+public class ConstructionReplay extends AbstractList<List<HuffmanNode>> {
+    private final CompactHuffmanTree tree;
+    private final HuffmanNode[] nodes;
+
+    public ConstructionReplay(CompactHuffmanTree tree, HuffmanNode[] nodes){
+        this.tree = tree;
+        this.nodes = nodes;
+    }
+
+    @Override
+    public List<HuffmanNode> get(int step) {
+        int[] indexes = tree.getStepNodes(step);
+        List<HuffmanNode> res = new ArrayList<>(indexes.length);
+        for (int index : indexes){
+            res.add(nodes[index]);
+        }
+        return res;
+    }
+
+    @Override
+    public int size() {
+        return tree.getStepCount();
+    }
+}
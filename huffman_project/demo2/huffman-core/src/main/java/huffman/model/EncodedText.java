@@ -0,0 +1,47 @@
+package huffman.model;
+
+import java.nio.ByteBuffer;
+
+public class EncodedText {
+    private final byte[] data;
+    private final long bitLength;
+    private final int symbolCount;
+
+    public EncodedText(byte[] data, long bitLength, int symbolCount){
+        if (bitLength < 0 || (bitLength + 7) / 8 > data.length){
+            throw new IllegalArgumentException("bit length " + bitLength + " does not fit in " + data.length + " bytes");
+        }
+        this.data = data;
+        this.bitLength = bitLength;
+        this.symbolCount = symbolCount;
+    }
+
+    public byte[] getData(){return data;}
+    public long getBitLength(){return bitLength;}
+    public int getSymbolCount(){return symbolCount;}
+
+    public int getByteLength(){
+        return (int) ((bitLength + 7) / 8);
+    }
+
+    // number of meaningful bits in the last byte, 0 when the stream ends on a byte boundary
+    public int getTailBits(){
+        return (int) (bitLength % 8);
+    }
+
+    public ByteBuffer asByteBuffer(){
+        return ByteBuffer.wrap(data, 0, getByteLength()).asReadOnlyBuffer();
+    }
+
+    public boolean getBit(long index){
+        return ((data[(int) (index >>> 3)] >>> (7 - (int) (index & 7))) & 1) != 0;
+    }
+
+    public String toBitString(){
+        StringBuilder sb = new StringBuilder((int) bitLength);
+        for (long i=0; i<bitLength; i++){
+            sb.append(getBit(i) ? '1' : '0');
+        }
+        return sb.toString();
+    }
+}
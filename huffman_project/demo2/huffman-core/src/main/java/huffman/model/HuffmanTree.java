@@ -10,7 +10,9 @@ import java.util.HashMap;
 public class HuffmanTree {
     private HuffmanNode root;
     private List<List<HuffmanNode>> constructionSteps = new ArrayList<>();
+    private CompactHuffmanTree compactTree;
     private HashMap<Character,String> code = new HashMap<>();
+    private CodeTable codeTable;
 
     public HuffmanNode getRoot(){return root;}
     public void setRoot(HuffmanNode root){this.root = root;}
@@ -21,7 +23,21 @@ public class HuffmanTree {
     public void addConstructionSteps(List<HuffmanNode> constructionSteps){
         this.constructionSteps.add(constructionSteps);
     }
+    public CompactHuffmanTree getCompactTree(){return compactTree;}
+    public void setCompactTree(CompactHuffmanTree compactTree){this.compactTree = compactTree;}
+    // nodes[i] is the node object of compactTree node i, the steps are replayed from the tree's merge log
+    public void setConstructionLog(CompactHuffmanTree compactTree, HuffmanNode[] nodes){
+        this.constructionSteps = new ConstructionReplay(compactTree, nodes);
+    }
+    public CodeTable getCodeTable(){
+        if (codeTable == null){
+            if (code.isEmpty()){generateMycode();}
+            codeTable = CodeTable.fromCodeMap(code);
+        }
+        return codeTable;
+    }
     public void generateMycode(){
         CodeGenerator.generateCode(root,code,"");
+        codeTable = null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package huffman.model;
+
+import java.util.Arrays;
+
+// Open-addressing int -> int map with linear probing, for non-negative keys only: -1 marks a
+// free slot, so every method rejects negative keys rather than mistaking them for one.
+// Saves the boxing and entry objects of HashMap<Integer,Integer> on per-symbol hot paths.
+public class IntIntMap {
+    private static final int FREE = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    public IntIntMap(){
+        this(16);
+    }
+
+    public IntIntMap(int expectedSize){
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 4 / 3 + 1) - 1) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, FREE);
+    }
+
+    public int size(){return size;}
+
+    public int get(int key, int missing){
+        int slot = find(key);
+        return keys[slot] == key ? values[slot] : missing;
+    }
+
+    public boolean containsKey(int key){
+        return keys[find(key)] == key;
+    }
+
+    public void put(int key, int value){
+        insert(key, value, false);
+    }
+
+    // adds delta to the value of key (0 when absent) and returns the new value
+    public int add(int key, int delta){
+        return insert(key, delta, true);
+    }
+
+    // keys in no particular order
+    public int[] keys(){
+        int[] res = new int[size];
+        int k = 0;
+        for (int key : keys){
+            if (key != FREE){res[k++] = key;}
+        }
+        return res;
+    }
+
+    private int insert(int key, int value, boolean add){
+        int slot = find(key);
+        if (keys[slot] == key){
+            values[slot] = add ? values[slot] + value : value;
+            return values[slot];
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 4 > keys.length * 3){
+            grow();
+        }
+        return value;
+    }
+
+    // slot holding key, or the free slot where it would go
+    private int find(int key){
+        if (key < 0){
+            throw new IllegalArgumentException("negative key " + key);
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE && keys[slot] != key){
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow(){
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, FREE);
+        for (int i=0; i<oldKeys.length; i++){
+            if (oldKeys[i] != FREE){
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(int key){
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
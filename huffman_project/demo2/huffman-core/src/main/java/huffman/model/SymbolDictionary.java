@@ -0,0 +1,94 @@
+package huffman.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+// Two-way mapping between tokens and the int symbol ids the code is built over.
+//
+// Serialized front-coded in id order: varint count, then per token varint prefix (chars shared
+// with the previous token), varint suffix length and the suffix as varint UTF-16 units, so any
+// string round-trips, including unpaired surrogates. Ids follow insertion order until sort()
+// renumbers them; front coding only pays off on a sorted dictionary.
+public class SymbolDictionary {
+    private final List<String> tokens = new ArrayList<>();
+    private final HashMap<String,Integer> ids = new HashMap<>();
+
+    // id of the token, added at the end when it is new
+    public int add(String token){
+        Integer id = ids.get(token);
+        if (id == null){
+            id = tokens.size();
+            tokens.add(token);
+            ids.put(token, id);
+        }
+        return id;
+    }
+
+    public int getId(String token){return ids.getOrDefault(token, -1);}
+    public String getToken(int id){return tokens.get(id);}
+    public int size(){return tokens.size();}
+
+    // Renumbers the tokens in sorted order and returns the new id of every old id.
+    public int[] sort(){
+        String[] sorted = tokens.toArray(new String[0]);
+        Arrays.sort(sorted);
+        int[] remap = new int[sorted.length];
+        for (int i=0; i<sorted.length; i++){
+            remap[ids.get(sorted[i])] = i;
+            ids.put(sorted[i], i);
+            tokens.set(i, sorted[i]);
+        }
+        return remap;
+    }
+
+    public void write(DataOutput out) throws IOException {
+        CodeLengthHeader.writeVarInt(out, tokens.size());
+        String previous = "";
+        for (String token : tokens){
+            int prefix = 0;
+            int max = Math.min(previous.length(), token.length());
+            while (prefix < max && previous.charAt(prefix) == token.charAt(prefix)){
+                prefix++;
+            }
+            CodeLengthHeader.writeVarInt(out, prefix);
+            CodeLengthHeader.writeVarInt(out, token.length() - prefix);
+            for (int i=prefix; i<token.length(); i++){
+                CodeLengthHeader.writeVarInt(out, token.charAt(i));
+            }
+            previous = token;
+        }
+    }
+
+    public static SymbolDictionary read(DataInput in) throws IOException {
+        int count = CodeLengthHeader.readVarInt(in);
+        if (count < 0){
+            throw new IOException("corrupt symbol dictionary: " + count + " tokens");
+        }
+        SymbolDictionary res = new SymbolDictionary();
+        String previous = "";
+        StringBuilder sb = new StringBuilder();
+        for (int i=0; i<count; i++){
+            int prefix = CodeLengthHeader.readVarInt(in);
+            int suffix = CodeLengthHeader.readVarInt(in);
+            if (prefix < 0 || prefix > previous.length() || suffix < 0){
+                throw new IOException("corrupt symbol dictionary entry " + i);
+            }
+            sb.setLength(0);
+            sb.append(previous, 0, prefix);
+            for (int k=0; k<suffix; k++){
+                sb.append((char) CodeLengthHeader.readVarInt(in));
+            }
+            String token = sb.toString();
+            if (res.add(token) != i){
+                throw new IOException("duplicate token in symbol dictionary: " + token);
+            }
+            previous = token;
+        }
+        return res;
+    }
+}
@@ -0,0 +1,6 @@
+module huffman.core {
+    exports huffman.algorithm;
+    exports huffman.model;
+    exports huffman.io;
+    exports huffman.cli;
+}
@@ -0,0 +1,39 @@
+package huffman.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import huffman.model.CompactHuffmanTree;
+
+class ByteFrequencyCounterTest {
+
+    @Test
+    void scaledCountsKeepNodeWeightsInRange(){
+        // three symbols of 2^40 each plus rare ones, far more than an int can sum
+        long[] counts = new long[256];
+        Arrays.fill(counts, 1);
+        counts['a'] = counts['b'] = counts['c'] = 1L << 40;
+        counts['d'] = 0;
+
+        int[] frequencies = ByteFrequencyCounter.toIntFrequencies(counts);
+        assertEquals(0, frequencies['d']);
+        assertTrue(frequencies['e'] >= 1, "present symbols keep a count");
+        assertEquals(frequencies['a'], frequencies['b']);
+
+        CompactHuffmanTree tree = LinearTreeBuilder.build(frequencies);
+        for (int node=0; node<tree.getNodeCount(); node++){
+            assertTrue(tree.getFrequency(node) > 0, "node " + node + " weight overflowed");
+        }
+    }
+
+    @Test
+    void smallCountsAreKept(){
+        long[] counts = {0, 1, 2, 3, 1000};
+        assertArrayEquals(new int[]{0, 1, 2, 3, 1000}, ByteFrequencyCounter.toIntFrequencies(counts));
+    }
+}
@@ -0,0 +1,130 @@
+package huffman.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import huffman.model.CodePointAlphabet;
+import huffman.model.CodeTable;
+import huffman.model.EncodedText;
+import huffman.model.IntIntMap;
+
+class CodePointCompressorTest {
+    static String roundTrip(String text){
+        IntIntMap frequencies = FrequencyCounter.getCodePointFrequency(text);
+        CodePointAlphabet alphabet = CodePointCompressor.buildAlphabet(frequencies);
+        CodeTable table = CodePointCompressor.buildCode(alphabet, frequencies, 24);
+        EncodedText encoded = CodePointCompressor.compress(text, alphabet, table);
+        assertEquals(text.codePointCount(0, text.length()), encoded.getSymbolCount());
+        return CodePointCompressor.decompress(encoded, alphabet, new TableDecoder(table));
+    }
+
+    @Test
+    void emojiGetOneCodeEach(){
+        String text = "I 😀 Huffman 🎉🎉 ünïcödé 𝄞 ok 😀";
+        assertEquals(text, roundTrip(text));
+
+        IntIntMap frequencies = FrequencyCounter.getCodePointFrequency(text);
+        assertEquals(2, frequencies.get("😀".codePointAt(0), 0));
+        assertEquals(2, frequencies.get("🎉".codePointAt(0), 0));
+        assertEquals(0, frequencies.get('\uD83D', 0));
+        CodePointAlphabet alphabet = CodePointCompressor.buildAlphabet(frequencies);
+        assertEquals(frequencies.size(), alphabet.size());
+        for (int id=1; id<alphabet.size(); id++){
+            assertTrue(alphabet.getCodePoint(id-1) < alphabet.getCodePoint(id));
+            assertEquals(id, alphabet.indexOf(alphabet.getCodePoint(id)));
+        }
+    }
+
+    @Test
+    void unpairedSurrogatesCodeAsThemselves(){
+        String[] texts = {"\uD800", "\uDC00", "a\uD800b\uDC00c", "\uDC00\uD800", "x\uD83D", "😀\uDE00\uD83D"};
+        for (String text : texts){
+            assertEquals(text, roundTrip(text));
+        }
+    }
+
+    @Test
+    void emptyAndSingleCodePoint(){
+        // like the other code builders there is no code for an empty alphabet
+        IntIntMap none = FrequencyCounter.getCodePointFrequency("");
+        assertEquals(0, CodePointCompressor.buildAlphabet(none).size());
+        assertThrows(IllegalArgumentException.class, () -> CodePointCompressor.buildCode(CodePointCompressor.buildAlphabet(none), none));
+        assertEquals("😀", roundTrip("😀"));
+        assertEquals("😀".repeat(500), roundTrip("😀".repeat(500)));
+    }
+
+    @Test
+    void randomTextsOverManyPlanes(){
+        Random random = new Random(3);
+        for (int round=0; round<50; round++){
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(2000);
+            for (int i=0; i<length; i++){
+                int cp;
+                switch (random.nextInt(4)){
+                    case 0: cp = 'a' + random.nextInt(26); break;
+                    case 1: cp = 0x1F600 + random.nextInt(80); break;
+                    case 2: cp = 0xD800 + random.nextInt(0x800); break;
+                    default: cp = random.nextInt(Character.MAX_CODE_POINT + 1); break;
+                }
+                sb.appendCodePoint(cp);
+            }
+            String text = sb.toString();
+            assertEquals(text, roundTrip(text));
+        }
+    }
+
+    @Test
+    void codePointWithoutCodeIsRejected(){
+        IntIntMap frequencies = FrequencyCounter.getCodePointFrequency("abc");
+        CodePointAlphabet alphabet = CodePointCompressor.buildAlphabet(frequencies);
+        CodeTable table = CodePointCompressor.buildCode(alphabet, frequencies);
+        assertThrows(IllegalArgumentException.class, () -> CodePointCompressor.compress("ab😀", alphabet, table));
+        assertThrows(IllegalArgumentException.class, () -> CodePointCompressor.compress("abd", alphabet, table));
+    }
+
+    @Test
+    void alphabetWriteReadRoundTrip() throws IOException {
+        int[] codePoints = {0x10FFFF, 'z', 0, 0x1F600, 0xD800, 0xFFFF, 0x10000, 'a'};
+        CodePointAlphabet alphabet = new CodePointAlphabet(codePoints);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        alphabet.write(new DataOutputStream(bytes));
+        CodePointAlphabet copy = CodePointAlphabet.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(alphabet.size(), copy.size());
+        for (int id=0; id<alphabet.size(); id++){
+            assertEquals(alphabet.getCodePoint(id), copy.getCodePoint(id));
+            assertEquals(id, copy.indexOf(copy.getCodePoint(id)));
+        }
+        assertEquals(-1, copy.indexOf('b'));
+        assertEquals(-1, copy.indexOf(0x1F601));
+
+        assertThrows(IllegalArgumentException.class, () -> new CodePointAlphabet(new int[]{'a', 'a'}));
+        assertThrows(IllegalArgumentException.class, () -> new CodePointAlphabet(new int[]{Character.MAX_CODE_POINT + 1}));
+        // count 2, 'a', then a zero delta repeating it
+        assertThrows(IOException.class, () -> CodePointAlphabet.read(new DataInputStream(new ByteArrayInputStream(new byte[]{2, 'a', 0}))));
+    }
+
+    @Test
+    void idFrequenciesFollowTheAlphabet(){
+        IntIntMap frequencies = new IntIntMap();
+        frequencies.put(0x1F600, 1000);
+        frequencies.put('a', 1);
+        frequencies.put('b', 1);
+        CodePointAlphabet alphabet = CodePointCompressor.buildAlphabet(frequencies);
+        CodeTable table = CodePointCompressor.buildCode(alphabet, frequencies);
+        assertArrayEquals(new int[]{'a', 'b', 0x1F600}, new int[]{alphabet.getCodePoint(0), alphabet.getCodePoint(1), alphabet.getCodePoint(2)});
+        assertEquals(1, table.lengths()[alphabet.indexOf(0x1F600)]);
+        assertEquals(2, table.lengths()[alphabet.indexOf('a')]);
+    }
+}
@@ -0,0 +1,36 @@
+package huffman.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class HistogramTaskTest {
+
+    @Test
+    void parallelCountsMatchSequential(){
+        Random random = new Random(1);
+        for (int parallelism : new int[]{1, 3, 8}){
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                for (int length : new int[]{0, 1, HistogramTask.MIN_CHUNK - 1, HistogramTask.MIN_CHUNK + 1, 9 * HistogramTask.MIN_CHUNK + 7}){
+                    byte[] data = new byte[length];
+                    random.nextBytes(data);
+                    assertArrayEquals(ByteFrequencyCounter.getFrequency(data), ByteFrequencyCounter.getFrequencyParallel(data, pool));
+
+                    char[] text = new char[length];
+                    int[] expected = new int[Character.MAX_VALUE + 1];
+                    for (int i=0; i<length; i++){
+                        text[i] = (char) random.nextInt(Character.MAX_VALUE + 1);
+                        expected[text[i]]++;
+                    }
+                    assertArrayEquals(expected, FrequencyCounter.getFrequencyParallel(new String(text), pool));
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package huffman.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import huffman.model.CodeTable;
+
+class LengthLimitedCodeTest {
+
+    static int[] fibonacci(int n){
+        int[] res = new int[n];
+        res[0] = 1;
+        res[1] = 1;
+        for (int i=2; i<n; i++){
+            res[i] = res[i-1] + res[i-2];
+        }
+        return res;
+    }
+
+    // lengths are complete (Kraft sum exactly 1), within the limit and never longer for a more frequent symbol
+    static void assertValid(int[] sortedFrequencies, int[] lengths, int maxLength){
+        long kraft = 0;
+        for (int i=0; i<lengths.length; i++){
+            assertTrue(lengths[i] >= 1 && lengths[i] <= maxLength, "length " + lengths[i] + " outside 1.." + maxLength);
+            kraft += 1L << (maxLength - lengths[i]);
+            if (i > 0 && sortedFrequencies[i] > sortedFrequencies[i-1]){
+                assertTrue(lengths[i] <= lengths[i-1], "more frequent symbol got a longer code");
+            }
+        }
+        assertEquals(1L << maxLength, kraft, "Kraft sum is not 1");
+    }
+
+    static long cost(int[] frequencies, int[] lengths){
+        long res = 0;
+        for (int i=0; i<lengths.length; i++){
+            res += (long) frequencies[i] * lengths[i];
+        }
+        return res;
+    }
+
+    static int[] huffmanLengths(int[] sortedFrequencies){
+        int[] res = new int[sortedFrequencies.length];
+        CodeTable table = LinearTreeBuilder.build(sortedFrequencies).toCodeTable();
+        for (int i=0; i<res.length; i++){
+            res[i] = table.getLength(i);
+        }
+        return res;
+    }
+
+    @Test
+    void fibonacciIsLimited(){
+        int[] frequencies = fibonacci(40);
+        assertEquals(39, LinearTreeBuilder.build(frequencies).toCodeTable().getMaxLength());
+        for (int maxLength : new int[]{11, 15}){
+            int[] lengths = LengthLimitedCode.computeLengths(frequencies, maxLength);
+            assertValid(frequencies, lengths, maxLength);
+            assertEquals(maxLength, Arrays.stream(lengths).max().getAsInt());
+        }
+    }
+
+    @Test
+    void randomDistributions(){
+        Random random = new Random(1);
+        for (int round=0; round<300; round++){
+            int n = 2 + random.nextInt(300);
+            int[] frequencies = new int[n];
+            for (int i=0; i<n; i++){
+                frequencies[i] = 1 + (int) Math.pow(1.5, random.nextInt(30));
+            }
+            Arrays.sort(frequencies);
+            int minLength = 32 - Integer.numberOfLeadingZeros(n - 1);
+            int unlimited = Arrays.stream(huffmanLengths(frequencies)).max().getAsInt();
+            long previous = Long.MAX_VALUE;
+            for (int maxLength=minLength; maxLength<=unlimited + 1; maxLength++){
+                int[] lengths = LengthLimitedCode.computeLengths(frequencies, maxLength);
+                assertValid(frequencies, lengths, maxLength);
+                // a looser limit never costs more, and no limit at all costs what Huffman costs
+                long c = cost(frequencies, lengths);
+                assertTrue(c <= previous);
+                previous = c;
+            }
+            assertEquals(cost(frequencies, huffmanLengths(frequencies)), previous);
+        }
+    }
+
+    @Test
+    void limitOnTheAlphabetSize(){
+        // 256 symbols in 8 bits leaves no choice: every code is 8 bits long
+        int[] frequencies = fibonacci(30);
+        int[] many = new int[256];
+        for (int i=0; i<many.length; i++){
+            many[i] = frequencies[i % 30];
+        }
+        Arrays.sort(many);
+        int[] lengths = LengthLimitedCode.computeLengths(many, 8);
+        assertValid(many, lengths, 8);
+        assertTrue(Arrays.stream(lengths).allMatch(l -> l == 8));
+        assertThrows(IllegalArgumentException.class, () -> LengthLimitedCode.computeLengths(many, 7));
+    }
+
+    @Test
+    void singleSymbol(){
+        assertEquals(1, LengthLimitedCode.computeLengths(new int[]{5}, 4)[0]);
+        assertThrows(IllegalArgumentException.class, () -> LengthLimitedCode.computeLengths(new int[0], 4));
+    }
+
+    @Test
+    void buildCodeKeepsHuffmanWhenItFits(){
+        int[] frequencies = new int[256];
+        int[] fib = fibonacci(20);
+        for (int i=0; i<fib.length; i++){
+            frequencies['a' + i] = fib[i];
+        }
+        CodeTable limited = LengthLimitedCode.buildCode(frequencies, 24);
+        assertEquals(LinearTreeBuilder.build(frequencies).toCodeTable().toString(), limited.toString());
+        assertEquals(12, LengthLimitedCode.buildCode(frequencies, 12).getMaxLength());
+    }
+}
@@ -0,0 +1,43 @@
+package huffman.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import huffman.model.HuffmanNode;
+import huffman.model.HuffmanTree;
+
+// the original implementations stay as benchmark baselines, they must keep agreeing with the fast paths
+class ReferenceImplementationTest {
+
+    @Test
+    void mergeSortMatchesReference(){
+        Random random = new Random(1);
+        for (int round=0; round<50; round++){
+            int count = random.nextInt(300);
+            List<HuffmanNode> nodes = new ArrayList<>();
+            for (int i=0; i<count; i++){
+                nodes.add(new HuffmanNode((char) i, 1 + random.nextInt(20)));
+            }
+            Collections.shuffle(nodes, random);
+            // both are stable, so equal frequencies keep the same order
+            assertEquals(MergeSort.mergeSortReference(new ArrayList<>(nodes)), MergeSort.mergeSort(new ArrayList<>(nodes)));
+        }
+    }
+
+    @Test
+    void decompressMatchesReference(){
+        String text = "the quick brown fox jumps over the lazy dog, again and again";
+        HuffmanTree tree = TreeBuilder.buildHuffmanTree(text);
+        tree.generateMycode();
+        String encoded = Compressor.compress(text, tree);
+        assertEquals(text, Decompressor.decompressReference(encoded, tree));
+        assertEquals(text, Decompressor.decompress(encoded, tree));
+        assertEquals(text, Decompressor.decompress(Compressor.compressToBits(text, tree), tree));
+    }
+}
@@ -0,0 +1,129 @@
+package huffman.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import huffman.model.CodeTable;
+import huffman.model.EncodedText;
+import huffman.model.HuffmanTree;
+
+class TableDecoderTest {
+
+    // lengths 1, 2, ..., n-1, n-1: a complete code whose longest codes need the root table and two sub tables
+    static CodeTable chainCode(int n){
+        int[] symbols = new int[n];
+        int[] lengths = new int[n];
+        for (int i=0; i<n; i++){
+            symbols[i] = 'A' + i;
+            lengths[i] = Math.min(i + 1, n - 1);
+        }
+        return CanonicalCode.fromLengths(symbols, lengths);
+    }
+
+    static EncodedText encode(char[] text, CodeTable table){
+        BitWriter writer = new BitWriter();
+        Compressor.compress(text, 0, text.length, table, writer);
+        return writer.toEncodedText(text.length);
+    }
+
+    // the bit-by-bit tree walk the table decoder replaces
+    static String treeWalk(EncodedText encoded, CodeTable table){
+        HuffmanTree tree = new HuffmanTree();
+        tree.setRoot(CanonicalCode.toTree(table, new HashMap<>()));
+        return Decompressor.decompress(encoded.toBitString(), tree);
+    }
+
+    static char[] randomText(CodeTable table, int length, Random random){
+        char[] text = new char[length];
+        for (int i=0; i<length; i++){
+            // favour short codes like real data, but hit the long ones too
+            int index = Math.min(table.size() - 1, Integer.numberOfTrailingZeros(random.nextInt() | (1 << 30)));
+            text[i] = (char) table.getSymbol(random.nextInt(4) == 0 ? random.nextInt(table.size()) : index);
+        }
+        return text;
+    }
+
+    @Test
+    void longCodesMatchTreeWalk(){
+        CodeTable table = chainCode(24);
+        assertEquals(23, table.getMaxLength());
+        Random random = new Random(1);
+        for (int round=0; round<50; round++){
+            char[] text = randomText(table, 1 + random.nextInt(2000), random);
+            EncodedText encoded = encode(text, table);
+            String expected = treeWalk(encoded, table);
+            assertEquals(new String(text), expected);
+            assertEquals(expected, new TableDecoder(table).decodeToString(encoded));
+        }
+    }
+
+    @Test
+    void everyRootWidth(){
+        CodeTable table = chainCode(24);
+        char[] text = randomText(table, 3000, new Random(2));
+        EncodedText encoded = encode(text, table);
+        for (int rootBits=1; rootBits<=table.getMaxLength(); rootBits++){
+            assertEquals(new String(text), new TableDecoder(table, rootBits).decodeToString(encoded), "root bits " + rootBits);
+        }
+    }
+
+    @Test
+    void lastSymbolOnTableBoundaries(){
+        // lengths 11 and 19 end exactly on the root table and on the first sub table
+        CodeTable table = chainCode(24);
+        Random random = new Random(3);
+        for (int i=0; i<table.size(); i++){
+            char[] text = randomText(table, 17, random);
+            text[text.length - 1] = (char) table.getSymbol(i);
+            EncodedText encoded = encode(text, table);
+            assertEquals(treeWalk(encoded, table), new TableDecoder(table).decodeToString(encoded), "last code length " + table.getLength(table.getSymbol(i)));
+        }
+    }
+
+    @Test
+    void paddingBitsAreIgnored(){
+        CodeTable table = chainCode(16);
+        Random random = new Random(4);
+        for (int round=0; round<200; round++){
+            char[] text = randomText(table, 1 + random.nextInt(40), random);
+            EncodedText encoded = encode(text, table);
+            byte[] data = encoded.getData().clone();
+            int tail = encoded.getTailBits();
+            if (tail != 0){
+                data[encoded.getByteLength() - 1] |= (byte) (0xFF >>> tail);
+            }
+            EncodedText padded = new EncodedText(data, encoded.getBitLength(), text.length);
+            assertEquals(new String(text), new TableDecoder(table).decodeToString(padded));
+        }
+    }
+
+    @Test
+    void randomHuffmanCodes(){
+        Random random = new Random(5);
+        for (int round=0; round<100; round++){
+            int[] frequencies = new int[2 + random.nextInt(200)];
+            for (int i=0; i<frequencies.length; i++){
+                // exponential spread gives codes well past the root table
+                frequencies[i] = 1 + (int) Math.pow(1.3, random.nextInt(40));
+            }
+            CodeTable table = LinearTreeBuilder.build(frequencies).toCodeTable();
+            char[] text = randomText(table, 500, random);
+            EncodedText encoded = encode(text, table);
+            assertEquals(treeWalk(encoded, table), new TableDecoder(table).decodeToString(encoded));
+        }
+    }
+
+    @Test
+    void truncatedStreamIsRejected(){
+        CodeTable table = chainCode(24);
+        char[] text = {(char) table.getSymbol(23)};
+        EncodedText encoded = encode(text, table);
+        EncodedText truncated = new EncodedText(encoded.getData(), encoded.getBitLength() - 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> new TableDecoder(table).decodeToString(truncated));
+    }
+}
@@ -0,0 +1,73 @@
+package huffman.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import huffman.model.HuffmanNode;
+import huffman.model.HuffmanTree;
+
+class TreeBuilderTest {
+
+    // leaves by identity, internal nodes by weight and shape
+    static String describe(HuffmanNode node){
+        if (node.isLeaf()){
+            return "'" + node.getCharacter() + "'#" + System.identityHashCode(node);
+        }
+        return node.getFrequency() + "(" + describe(node.getLeft()) + "," + describe(node.getRight()) + ")";
+    }
+
+    static List<String> describe(List<HuffmanNode> step){
+        List<String> res = new ArrayList<>();
+        for (HuffmanNode node : step){
+            res.add(describe(node));
+        }
+        return res;
+    }
+
+    static String randomText(Random random){
+        StringBuilder sb = new StringBuilder();
+        int alphabet = 1 + random.nextInt(60);
+        int length = 1 + random.nextInt(2000);
+        for (int i=0; i<length; i++){
+            // many equal frequencies, so ties between leaves and merged nodes are exercised
+            sb.append((char) ('!' + Math.min(alphabet - 1, Math.abs((int) (random.nextGaussian() * alphabet / 3)))));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void replayMatchesReferenceStepForStep(){
+        Random random = new Random(1);
+        for (int round=0; round<300; round++){
+            String text = randomText(random);
+            List<HuffmanNode> leaves = SortedNodesCreator.sort(text);
+
+            HuffmanTree reference = TreeBuilder.buildHuffmanTreeReference(leaves);
+            HuffmanTree replayed = TreeBuilder.buildHuffmanTree(leaves, StepRecorder.REPLAY);
+
+            List<List<HuffmanNode>> expected = reference.getConstructionSteps();
+            List<List<HuffmanNode>> actual = replayed.getConstructionSteps();
+            assertEquals(expected.size(), actual.size(), text);
+            for (int step=0; step<expected.size(); step++){
+                assertEquals(describe(expected.get(step)), describe(actual.get(step)), "step " + step + " of " + text);
+            }
+            assertEquals(describe(reference.getRoot()), describe(replayed.getRoot()));
+            // the last step is the finished tree
+            assertSame(replayed.getRoot(), actual.get(actual.size() - 1).get(0));
+        }
+    }
+
+    @Test
+    void noRecorderKeepsNoSteps(){
+        HuffmanTree tree = TreeBuilder.buildHuffmanTree("abracadabra");
+        assertTrue(tree.getConstructionSteps().isEmpty());
+        assertEquals(11, tree.getRoot().getFrequency());
+    }
+}
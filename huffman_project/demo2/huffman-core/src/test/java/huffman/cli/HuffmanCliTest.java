@@ -0,0 +1,153 @@
+package huffman.cli;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import huffman.io.HufFormat;
+
+class HuffmanCliTest {
+    @TempDir
+    Path dir;
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    int run(String... args){
+        out.reset();
+        err.reset();
+        return HuffmanCli.run(args, new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    String err(){
+        return err.toString(StandardCharsets.UTF_8);
+    }
+
+    static byte[] text(int length, long seed){
+        Random random = new Random(seed);
+        byte[] data = new byte[length];
+        for (int i=0; i<length; i++){
+            data[i] = (byte) ('a' + Math.min(25, (int) Math.abs(random.nextGaussian() * 5)));
+        }
+        return data;
+    }
+
+    Path write(String name, byte[] data) throws IOException {
+        Path file = dir.resolve(name);
+        Files.createDirectories(file.getParent());
+        return Files.write(file, data);
+    }
+
+    @Test
+    void compressDecompressDirectory() throws IOException {
+        byte[] a = text(300_000, 1);
+        byte[] b = text(1000, 2);
+        write("in/a.txt", a);
+        write("in/sub/b.txt", b);
+        write("in/empty.txt", new byte[0]);
+
+        assertEquals(0, run("compress", "-b", "64k", "-t", "3", dir.resolve("in").toString()), err());
+        assertTrue(Files.exists(dir.resolve("in/a.txt" + HufFormat.EXTENSION)));
+        assertTrue(Files.exists(dir.resolve("in/sub/b.txt" + HufFormat.EXTENSION)));
+        assertTrue(Files.size(dir.resolve("in/a.txt" + HufFormat.EXTENSION)) < a.length);
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("a.txt"));
+
+        // restored under -o keeping the layout below the input directory; the sources are skipped
+        assertEquals(0, run("decompress", "-q", "-o", dir.resolve("out").toString(), dir.resolve("in").toString()), err());
+        assertEquals(0, out.size());
+        assertArrayEquals(a, Files.readAllBytes(dir.resolve("out/in/a.txt")));
+        assertArrayEquals(b, Files.readAllBytes(dir.resolve("out/in/sub/b.txt")));
+        assertArrayEquals(new byte[0], Files.readAllBytes(dir.resolve("out/in/empty.txt")));
+        assertFalse(Files.exists(dir.resolve("out/in/a.txt" + HufFormat.EXTENSION)));
+    }
+
+    @Test
+    void trainAndUseADictionary() throws IOException {
+        for (int i=0; i<5; i++){
+            write("samples/" + i + ".json", ("{\"user\":\"u" + i + "\",\"action\":\"login\"}").getBytes(StandardCharsets.UTF_8));
+        }
+        // -o naming a directory stores the dictionary under its id
+        Path dictionaries = Files.createDirectories(dir.resolve("dicts"));
+        assertEquals(0, run("train", "-q", "-o", dictionaries.toString(), dir.resolve("samples").toString()), err());
+        Path dictionary;
+        try (var files = Files.list(dictionaries)) {
+            dictionary = files.findFirst().orElseThrow();
+        }
+        assertTrue(dictionary.getFileName().toString().endsWith(HufFormat.DICTIONARY_EXTENSION));
+        assertEquals(1, run("train", "-o", dictionary.toString(), dir.resolve("samples").toString()));
+        assertTrue(err().contains("already exists"));
+        assertEquals(0, run("train", "-q", "-f", "-o", dictionary.toString(), dir.resolve("samples").toString()), err());
+
+        byte[] message = "{\"user\":\"zed\",\"action\":\"login\"}".getBytes(StandardCharsets.UTF_8);
+        Path messageFile = write("msgs/m.json", message);
+        assertEquals(0, run("compress", "-q", "-d", dictionary.toString(), messageFile.toString()), err());
+        Path compressed = dir.resolve("msgs/m.json" + HufFormat.MESSAGE_EXTENSION);
+        assertTrue(Files.exists(compressed));
+        Files.delete(messageFile);
+
+        // without -d the message fails, the .huf next to it is still restored
+        byte[] plain = text(5000, 3);
+        Path plainFile = write("msgs/plain.txt", plain);
+        assertEquals(0, run("compress", "-q", plainFile.toString()), err());
+        Files.delete(plainFile);
+        assertEquals(1, run("decompress", dir.resolve("msgs").toString()));
+        assertTrue(err().contains("-d"), err());
+        assertArrayEquals(plain, Files.readAllBytes(plainFile));
+        assertFalse(Files.exists(messageFile));
+
+        // a directory of dictionaries is looked up by id
+        assertEquals(0, run("decompress", "-q", "-d", dictionaries.toString(), compressed.toString()), err());
+        assertArrayEquals(message, Files.readAllBytes(messageFile));
+    }
+
+    @Test
+    void usageErrors() throws IOException {
+        Path file = write("a.txt", text(100, 4));
+        assertEquals(2, run("compress", "--nope", file.toString()));
+        assertTrue(err().contains("unknown option --nope"), err());
+        assertEquals(2, run("squeeze", file.toString()));
+        assertEquals(2, run("compress"));
+        assertEquals(2, run());
+        assertEquals(2, run("compress", "-b", "0", file.toString()));
+        assertEquals(2, run("compress", "-t", "many", file.toString()));
+        assertEquals(2, run("compress", file.toString(), "-t"));
+        assertEquals(2, run("train", file.toString()));
+        assertEquals(0, run("--help"));
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("usage:"));
+
+        assertEquals(1, run("compress", dir.resolve("missing.txt").toString()));
+        assertEquals(1, run("decompress", file.toString()));
+        assertFalse(Files.exists(dir.resolve("a.txt" + HufFormat.EXTENSION)));
+    }
+
+    @Test
+    void existingTargetNeedsForce() throws IOException {
+        Path file = write("a.txt", text(2000, 5));
+        Path target = dir.resolve("a.txt" + HufFormat.EXTENSION);
+        Files.write(target, new byte[]{1, 2, 3});
+
+        assertEquals(1, run("compress", file.toString()));
+        assertTrue(err().contains("already exists"), err());
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(target));
+
+        assertEquals(0, run("compress", "-f", file.toString()), err());
+        byte[] original = Files.readAllBytes(file);
+        assertEquals(1, run("decompress", target.toString()));
+        assertArrayEquals(original, Files.readAllBytes(file));
+        Files.write(file, new byte[0]);
+        assertEquals(0, run("decompress", "--force", target.toString()), err());
+        assertArrayEquals(original, Files.readAllBytes(file));
+    }
+}
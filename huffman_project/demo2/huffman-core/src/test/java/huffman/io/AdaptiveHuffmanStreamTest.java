@@ -0,0 +1,135 @@
+package huffman.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveHuffmanStreamTest {
+
+    static byte[] compress(byte[] data, int rebuildInterval) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (AdaptiveHuffmanOutputStream out = new AdaptiveHuffmanOutputStream(bytes, rebuildInterval)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    static byte[] decompress(byte[] compressed) throws IOException {
+        try (AdaptiveHuffmanInputStream in = new AdaptiveHuffmanInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    // skewed text whose statistics change halfway, then every byte value once
+    static byte[] data(int length, long seed){
+        byte[] res = HuffmanStreamTest.text(length, seed);
+        for (int i=length/2; i<length; i++){
+            res[i] = (byte) ('z' - (res[i] - 'a'));
+        }
+        byte[] all = new byte[256];
+        for (int i=0; i<256; i++){
+            all[i] = (byte) i;
+        }
+        byte[] combined = Arrays.copyOf(res, length + 256);
+        System.arraycopy(all, 0, combined, length, 256);
+        return combined;
+    }
+
+    @Test
+    void rebuildIntervals() throws IOException {
+        byte[] data = data(20000, 1);
+        for (int interval : new int[]{1, 7, HufFormat.DEFAULT_REBUILD_INTERVAL, 1 << 20}){
+            assertArrayEquals(data, decompress(compress(data, interval)), "interval " + interval);
+        }
+    }
+
+    @Test
+    void emptyInput() throws IOException {
+        for (int interval : new int[]{1, 1 << 20}){
+            assertArrayEquals(new byte[0], decompress(compress(new byte[0], interval)));
+        }
+    }
+
+    @Test
+    void singleByteWrites() throws IOException {
+        byte[] data = data(3000, 2);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (AdaptiveHuffmanOutputStream out = new AdaptiveHuffmanOutputStream(bytes, 1)) {
+            for (byte b : data){
+                out.write(b);
+            }
+        }
+        assertArrayEquals(data, decompress(bytes.toByteArray()));
+    }
+
+    @Test
+    void flushMidStream() throws IOException {
+        byte[] data = data(5000, 3);
+        for (int interval : new int[]{1, 1 << 20}){
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] flushed;
+            try (AdaptiveHuffmanOutputStream out = new AdaptiveHuffmanOutputStream(bytes, interval)) {
+                out.flush();
+                out.write(data, 0, 1234);
+                out.flush();
+                flushed = bytes.toByteArray();
+                out.write(data, 1234, 1000);
+                out.flush();
+                out.flush();
+                out.write(data, 2234, data.length - 2234);
+            }
+            assertArrayEquals(data, decompress(bytes.toByteArray()), "interval " + interval);
+
+            // everything written before a flush is readable from the bytes out so far
+            try (AdaptiveHuffmanInputStream in = new AdaptiveHuffmanInputStream(new ByteArrayInputStream(flushed))) {
+                byte[] buffer = new byte[data.length];
+                int n = 0;
+                while (n < 1234){
+                    n += in.read(buffer, n, buffer.length - n);
+                }
+                assertEquals(1234, n);
+                assertArrayEquals(Arrays.copyOf(data, 1234), Arrays.copyOf(buffer, n));
+                assertThrows(EOFException.class, in::read);
+            }
+        }
+    }
+
+    @Test
+    void truncatedStreamIsRejected() throws IOException {
+        byte[] compressed = compress(data(2000, 4), 16);
+        assertThrows(EOFException.class, () -> decompress(Arrays.copyOf(compressed, compressed.length - 1)));
+    }
+
+    @Test
+    void badHeaderIsRejected() throws IOException {
+        byte[] compressed = compress(new byte[]{1, 2, 3}, 16);
+        byte[] magic = compressed.clone();
+        magic[3] = 'X';
+        assertThrows(IOException.class, () -> decompress(magic));
+        byte[] interval = compressed.clone();
+        Arrays.fill(interval, 5, 9, (byte) 0);
+        assertThrows(IOException.class, () -> decompress(interval));
+    }
+
+    @Test
+    void randomRoundTrips() throws IOException {
+        Random random = new Random(5);
+        for (int round=0; round<30; round++){
+            byte[] data = new byte[random.nextInt(3000)];
+            for (int i=0; i<data.length; i++){
+                data[i] = (byte) (random.nextInt(1 + random.nextInt(256)));
+            }
+            int interval = 1 + random.nextInt(500);
+            assertArrayEquals(data, decompress(compress(data, interval)));
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package huffman.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BlockCompressorTest {
+    private static final int BLOCK_SIZE = 1000;
+
+    @TempDir
+    Path dir;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void startExecutor(){
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void stopExecutor(){
+        executor.shutdownNow();
+    }
+
+    // a skewed first half and a shifted second half, so per-block and shared codes differ
+    static byte[] data(int length){
+        byte[] res = HuffmanStreamTest.text(length, length);
+        for (int i=length/2; i<length; i++){
+            res[i] = (byte) ('z' - (res[i] - 'a'));
+        }
+        return res;
+    }
+
+    private byte[] compressBytes(BlockCompressor compressor, byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        compressor.compress(data, out);
+        return out.toByteArray();
+    }
+
+    private byte[] compressStream(BlockCompressor compressor, byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        compressor.compress(new ByteArrayInputStream(data), out);
+        return out.toByteArray();
+    }
+
+    private byte[] compressPath(BlockCompressor compressor, byte[] data) throws IOException {
+        Path source = Files.write(dir.resolve("source"), data);
+        Path target = dir.resolve("source" + HufFormat.EXTENSION);
+        compressor.compress(source, target);
+        return Files.readAllBytes(target);
+    }
+
+    // read back through the index, every block checked against its CRC
+    private byte[] readArchive(byte[] huf, int blocks) throws IOException {
+        Path file = Files.write(dir.resolve("read" + HufFormat.EXTENSION), huf);
+        try (HufArchive archive = new HufArchive(file)) {
+            assertEquals(BLOCK_SIZE, archive.getBlockSize());
+            assertEquals(blocks, archive.getBlockCount());
+            return archive.readAll(executor);
+        }
+    }
+
+    @Test
+    void perBlockTreesEveryEntryPoint() throws IOException {
+        // the last block is shorter than the block size
+        byte[] data = data(7 * BLOCK_SIZE + 123);
+        BlockCompressor compressor = new BlockCompressor(executor, BLOCK_SIZE, 3, false);
+        byte[] fromBytes = compressBytes(compressor, data);
+        assertArrayEquals(data, readArchive(fromBytes, 8));
+        assertArrayEquals(fromBytes, compressStream(compressor, data));
+        assertArrayEquals(fromBytes, compressPath(compressor, data));
+        assertArrayEquals(data, HuffmanStreamTest.decompress(fromBytes));
+    }
+
+    @Test
+    void sharedTree() throws IOException {
+        byte[] data = data(5 * BLOCK_SIZE + 1);
+        BlockCompressor compressor = new BlockCompressor(executor, BLOCK_SIZE, 2, true);
+        byte[] fromBytes = compressBytes(compressor, data);
+        assertArrayEquals(data, readArchive(fromBytes, 6));
+        assertArrayEquals(fromBytes, compressPath(compressor, data));
+        assertFalse(Arrays.equals(fromBytes, compressBytes(new BlockCompressor(executor, BLOCK_SIZE, 2, false), data)));
+
+        // a stream has no first pass, so it falls back to per-block trees
+        byte[] fromStream = compressStream(compressor, data);
+        assertArrayEquals(data, readArchive(fromStream, 6));
+    }
+
+    @Test
+    void emptyInputAndExactBlocks() throws IOException {
+        for (boolean shared : new boolean[]{false, true}){
+            BlockCompressor compressor = new BlockCompressor(executor, BLOCK_SIZE, 4, shared);
+            assertArrayEquals(new byte[0], readArchive(compressBytes(compressor, new byte[0]), 0));
+            assertArrayEquals(new byte[0], readArchive(compressStream(compressor, new byte[0]), 0));
+            assertArrayEquals(new byte[0], readArchive(compressPath(compressor, new byte[0]), 0));
+
+            byte[] exact = data(3 * BLOCK_SIZE);
+            assertArrayEquals(exact, readArchive(compressBytes(compressor, exact), 3));
+            byte[] single = {42};
+            assertArrayEquals(single, readArchive(compressPath(compressor, single), 1));
+        }
+        // a window of one writes each block before the next is submitted
+        byte[] data = data(4 * BLOCK_SIZE + 5);
+        assertArrayEquals(data, readArchive(compressBytes(new BlockCompressor(executor, BLOCK_SIZE, 1, false), data), 5));
+        assertThrows(IllegalArgumentException.class, () -> new BlockCompressor(executor, BLOCK_SIZE, 0, false));
+    }
+
+    // keeps every future it hands out
+    private static class RecordingExecutor extends ThreadPoolExecutor {
+        final List<Future<?>> submitted = new ArrayList<>();
+
+        RecordingExecutor(){
+            super(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        }
+
+        @Override
+        protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable){
+            RunnableFuture<T> res = super.newTaskFor(callable);
+            submitted.add(res);
+            return res;
+        }
+    }
+
+    @Test
+    void failedReadCancelsBlocksInFlight() throws InterruptedException {
+        RecordingExecutor blocked = new RecordingExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        // the only worker waits, so every block stays queued
+        blocked.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        byte[] data = data(3 * BLOCK_SIZE);
+        InputStream failing = new InputStream() {
+            int read;
+
+            @Override
+            public int read() throws IOException {
+                if (read == data.length){
+                    throw new IOException("disk gone");
+                }
+                return data[read++] & 0xFF;
+            }
+        };
+        try {
+            BlockCompressor compressor = new BlockCompressor(blocked, BLOCK_SIZE, 8, false);
+            IOException e = assertThrows(IOException.class, () -> compressor.compress(failing, new ByteArrayOutputStream()));
+            assertEquals("disk gone", e.getMessage());
+            assertEquals(3, blocked.submitted.size());
+            for (Future<?> f : blocked.submitted){
+                assertTrue(f.isCancelled());
+            }
+        } finally {
+            release.countDown();
+            blocked.shutdownNow();
+            blocked.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package huffman.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HufArchiveTest {
+    private static final int BLOCK_SIZE = 256;
+
+    @TempDir
+    Path dir;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void startExecutor(){
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void stopExecutor(){
+        executor.shutdownNow();
+    }
+
+    private Path write(byte[] data) throws IOException {
+        Path file = dir.resolve("data" + HufFormat.EXTENSION);
+        Files.write(file, HuffmanStreamTest.compress(data, BLOCK_SIZE));
+        return file;
+    }
+
+    // offset of the index, read back from the trailer
+    private static int indexOffset(byte[] huf){
+        return (int) ByteBuffer.wrap(huf, huf.length - HufFormat.TRAILER_SIZE, 8).getLong();
+    }
+
+    @Test
+    void positionalReadBlock() throws IOException {
+        byte[] data = HuffmanStreamTest.text(5 * BLOCK_SIZE + 17, 1);
+        try (HufArchive archive = new HufArchive(write(data))) {
+            assertEquals(6, archive.getBlockCount());
+            assertEquals(data.length, archive.getUncompressedSize());
+            // out of order, the way a reader seeking around would do it
+            for (int block : new int[]{5, 0, 3, 1, 4, 2}){
+                int from = (int) archive.getBlockOffset(block);
+                assertArrayEquals(Arrays.copyOfRange(data, from, from + archive.getBlockLength(block)), archive.readBlock(block));
+            }
+            byte[] out = new byte[BLOCK_SIZE + 10];
+            archive.readBlock(2, out, 10);
+            assertArrayEquals(Arrays.copyOfRange(data, 2 * BLOCK_SIZE, 3 * BLOCK_SIZE), Arrays.copyOfRange(out, 10, out.length));
+
+            assertEquals(0, archive.findBlock(0));
+            assertEquals(0, archive.findBlock(BLOCK_SIZE - 1));
+            assertEquals(1, archive.findBlock(BLOCK_SIZE));
+            assertEquals(5, archive.findBlock(data.length - 1));
+        }
+    }
+
+    @Test
+    void parallelReadAllAndDecompressTo() throws IOException {
+        byte[] data = HuffmanStreamTest.text(40 * BLOCK_SIZE + 3, 2);
+        Path target = dir.resolve("data.out");
+        try (HufArchive archive = new HufArchive(write(data))) {
+            assertArrayEquals(data, archive.readAll(executor));
+            archive.decompressTo(target, executor);
+        }
+        assertArrayEquals(data, Files.readAllBytes(target));
+    }
+
+    @Test
+    void emptyArchive() throws IOException {
+        try (HufArchive archive = new HufArchive(write(new byte[0]))) {
+            assertEquals(0, archive.getBlockCount());
+            assertEquals(0, archive.getUncompressedSize());
+            assertArrayEquals(new byte[0], archive.readAll(executor));
+        }
+    }
+
+    @Test
+    void blockOutOfRange() throws IOException {
+        try (HufArchive archive = new HufArchive(write(HuffmanStreamTest.text(3 * BLOCK_SIZE, 3)))) {
+            assertThrows(IndexOutOfBoundsException.class, () -> archive.readBlock(-1));
+            assertThrows(IndexOutOfBoundsException.class, () -> archive.readBlock(3));
+        }
+    }
+
+    @Test
+    void corruptIndexEntries() throws IOException {
+        byte[] huf = HuffmanStreamTest.compress(HuffmanStreamTest.text(3 * BLOCK_SIZE, 4), BLOCK_SIZE);
+        int firstEntry = indexOffset(huf) + 4;
+        // fileOffset, rawOffset and rawLength of the second entry
+        for (int field : new int[]{0, 8, 16}){
+            byte[] corrupt = huf.clone();
+            corrupt[firstEntry + HufFormat.INDEX_ENTRY_SIZE + field + 3] ^= 0x40;
+            Path file = dir.resolve("corrupt" + field + HufFormat.EXTENSION);
+            Files.write(file, corrupt);
+            assertThrows(IOException.class, () -> new HufArchive(file).close(), "field " + field);
+        }
+    }
+
+    @Test
+    void indexOffsetOutOfRange() throws IOException {
+        byte[] huf = HuffmanStreamTest.compress(HuffmanStreamTest.text(BLOCK_SIZE, 5), BLOCK_SIZE);
+        for (long offset : new long[]{-1, 0, huf.length, Long.MAX_VALUE}){
+            ByteBuffer.wrap(huf).putLong(huf.length - HufFormat.TRAILER_SIZE, offset);
+            Path file = dir.resolve("offset" + HufFormat.EXTENSION);
+            Files.write(file, huf);
+            assertThrows(IOException.class, () -> new HufArchive(file).close(), "offset " + offset);
+        }
+    }
+
+    @Test
+    void truncatedTrailer() throws IOException {
+        byte[] huf = HuffmanStreamTest.compress(HuffmanStreamTest.text(BLOCK_SIZE, 6), BLOCK_SIZE);
+        Path file = dir.resolve("truncated" + HufFormat.EXTENSION);
+        Files.write(file, Arrays.copyOf(huf, huf.length - 3));
+        assertThrows(IOException.class, () -> new HufArchive(file).close());
+        Files.write(file, Arrays.copyOf(huf, 5));
+        assertThrows(IOException.class, () -> new HufArchive(file).close());
+    }
+
+    @Test
+    void corruptBlockFailsParallelRead() throws IOException {
+        byte[] huf = HuffmanStreamTest.compress(HuffmanStreamTest.text(8 * BLOCK_SIZE, 7), BLOCK_SIZE);
+        // last payload byte of the last block, just before the end marker
+        huf[indexOffset(huf) - 5] ^= 0x10;
+        Path file = dir.resolve("payload" + HufFormat.EXTENSION);
+        Files.write(file, huf);
+        try (HufArchive archive = new HufArchive(file)) {
+            assertThrows(IOException.class, () -> archive.readAll(executor));
+            assertThrows(IOException.class, () -> archive.readBlock(7));
+            archive.readBlock(0);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package huffman.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.Test;
+
+import huffman.algorithm.BitWriter;
+import huffman.algorithm.ByteCompressor;
+import huffman.algorithm.ByteFrequencyCounter;
+import huffman.model.CodeTable;
+
+class HufWriterTest {
+
+    @Test
+    void channelAndStreamBlocksMix() throws IOException {
+        byte[] data = HuffmanStreamTest.text(1000, 13);
+        CodeTable table = ByteCompressor.buildCode(ByteFrequencyCounter.getFrequency(data, 0, data.length), HufFormat.MAX_CODE_LENGTH);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        HufWriter writer = new HufWriter(Channels.newChannel(bytes), 400);
+        writer.writeBlock(BlockCodec.encode(data, 0, 400, new BitWriter()));
+
+        ByteBuffer packed = ByteBuffer.allocate(4096);
+        long bits = ByteCompressor.compress(ByteBuffer.wrap(data, 400, 400), table, packed);
+        packed.flip();
+        CRC32 crc = new CRC32();
+        crc.update(data, 400, 400);
+        writer.writeBlock(400, (int) crc.getValue(), table, bits, packed);
+
+        writer.writeBlock(BlockCodec.encode(data, 800, 200, new BitWriter()));
+        writer.close();
+
+        assertArrayEquals(data, HuffmanStreamTest.decompress(bytes.toByteArray()));
+    }
+
+    @Test
+    void oversizedBlockIsRejected() throws IOException {
+        HufWriter writer = new HufWriter(new ByteArrayOutputStream(), 10);
+        byte[] data = new byte[11];
+        assertThrows(IllegalArgumentException.class, () -> writer.writeBlock(BlockCodec.encode(data, 0, data.length, new BitWriter())));
+    }
+
+    @Test
+    void payloadSizeMustMatchBitLength() throws IOException {
+        HufWriter writer = new HufWriter(new ByteArrayOutputStream(), 10);
+        CodeTable table = ByteCompressor.buildCode(new int[]{1, 1});
+        assertThrows(IllegalArgumentException.class, () -> writer.writeBlock(4, 0, table, 4, ByteBuffer.allocate(2)));
+    }
+
+    @Test
+    void invalidBlockSize(){
+        assertThrows(IllegalArgumentException.class, () -> new HufWriter(new ByteArrayOutputStream(), 0));
+        assertThrows(IllegalArgumentException.class, () -> new HufWriter(new ByteArrayOutputStream(), HufFormat.MAX_BLOCK_SIZE + 1));
+    }
+}
@@ -0,0 +1,99 @@
+package huffman.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HuffmanDictionaryTest {
+    @TempDir
+    Path dir;
+
+    static List<byte[]> samples(String... messages){
+        List<byte[]> res = new ArrayList<>();
+        for (String m : messages){
+            res.add(m.getBytes(StandardCharsets.UTF_8));
+        }
+        return res;
+    }
+
+    @Test
+    void trainSaveLoadCompressByReference() throws IOException {
+        HuffmanDictionary trained = HuffmanDictionary.train(samples(
+                "{\"user\":\"alice\",\"action\":\"login\"}", "{\"user\":\"bob\",\"action\":\"logout\"}",
+                "{\"user\":\"carol\",\"action\":\"login\"}"));
+        Path file = HuffmanDictionary.fileName(dir, trained.getId());
+        trained.save(file);
+
+        HuffmanDictionary loaded = HuffmanDictionary.load(file);
+        assertEquals(trained.getId(), loaded.getId());
+        assertEquals(trained.getCodeTable().toString(), loaded.getCodeTable().toString());
+
+        DictionaryCache cache = DictionaryCache.forDirectory(dir, 4);
+        byte[] message = "{\"user\":\"dave\",\"action\":\"login\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = trained.compress(message);
+        assertEquals(trained.getId(), HuffmanDictionary.readId(compressed));
+        assertTrue(compressed.length < message.length);
+        assertArrayEquals(message, cache.decompress(compressed));
+
+        // bytes never seen in training still have a code
+        byte[] binary = new byte[256];
+        for (int i=0; i<256; i++){
+            binary[i] = (byte) i;
+        }
+        assertArrayEquals(binary, loaded.decompress(trained.compress(binary)));
+        assertArrayEquals(new byte[0], loaded.decompress(trained.compress(new byte[0])));
+    }
+
+    @Test
+    void wrongDictionaryAndCorruptFiles() throws IOException {
+        HuffmanDictionary a = HuffmanDictionary.train(samples("aaaaab"));
+        HuffmanDictionary b = HuffmanDictionary.train(samples("bbbbba"));
+        assertThrows(IOException.class, () -> b.decompress(a.compress(new byte[]{'a'})));
+
+        Path file = dir.resolve("a" + HufFormat.DICTIONARY_EXTENSION);
+        a.save(file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> HuffmanDictionary.load(file));
+
+        // the directory cache checks that the file holds the dictionary it was named after
+        b.save(HuffmanDictionary.fileName(dir, a.getId()));
+        assertThrows(IOException.class, () -> DictionaryCache.forDirectory(dir, 1).get(a.getId()));
+    }
+
+    @Test
+    void cacheEvictsLeastRecentlyUsed() throws IOException {
+        List<Integer> loads = new ArrayList<>();
+        DictionaryCache cache = new DictionaryCache(2, id -> {
+            loads.add(id);
+            return new HuffmanDictionary(id, HuffmanDictionary.train(samples("x" + id)).getCodeTable());
+        });
+
+        HuffmanDictionary first = cache.get(1);
+        cache.get(2);
+        assertSame(first, cache.get(1));
+        // 2 is now the least recently used and makes room for 3
+        cache.get(3);
+        assertEquals(2, cache.size());
+        assertSame(first, cache.get(1));
+        HuffmanDictionary second = cache.get(2);
+        assertEquals(List.of(1, 2, 3, 2), loads);
+        assertNotSame(first, second);
+
+        assertThrows(IllegalArgumentException.class, () -> new DictionaryCache(0, id -> null));
+    }
+}
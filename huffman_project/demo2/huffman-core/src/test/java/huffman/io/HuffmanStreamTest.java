@@ -0,0 +1,122 @@
+package huffman.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class HuffmanStreamTest {
+
+    static byte[] compress(byte[] data, int blockSize) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (HuffmanOutputStream out = new HuffmanOutputStream(bytes, blockSize)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    static byte[] decompress(byte[] huf) throws IOException {
+        try (HuffmanInputStream in = new HuffmanInputStream(new ByteArrayInputStream(huf))) {
+            return in.readAllBytes();
+        }
+    }
+
+    static byte[] text(int length, long seed){
+        Random random = new Random(seed);
+        byte[] data = new byte[length];
+        for (int i=0; i<length; i++){
+            // skewed so the blocks really get variable-length codes
+            data[i] = (byte) ('a' + Math.min(25, (int) Math.abs(random.nextGaussian() * 5)));
+        }
+        return data;
+    }
+
+    @Test
+    void emptyInput() throws IOException {
+        assertArrayEquals(new byte[0], decompress(compress(new byte[0], 16)));
+    }
+
+    @Test
+    void singleByte() throws IOException {
+        assertArrayEquals(new byte[]{42}, decompress(compress(new byte[]{42}, 16)));
+        assertArrayEquals(new byte[]{42}, decompress(compress(new byte[]{42}, 1)));
+    }
+
+    @Test
+    void blockSizeBoundaries() throws IOException {
+        int blockSize = 64;
+        for (int length : new int[]{blockSize - 1, blockSize, blockSize + 1, 2 * blockSize, 5 * blockSize + 3}){
+            byte[] data = text(length, length);
+            assertArrayEquals(data, decompress(compress(data, blockSize)), "length " + length);
+        }
+    }
+
+    @Test
+    void singleSymbolBlocks() throws IOException {
+        byte[] data = new byte[300];
+        Arrays.fill(data, (byte) 'x');
+        assertArrayEquals(data, decompress(compress(data, 100)));
+    }
+
+    @Test
+    void flushClosesPartialBlock() throws IOException {
+        byte[] data = text(1000, 7);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (HuffmanOutputStream out = new HuffmanOutputStream(bytes, 256)) {
+            out.write(data, 0, 100);
+            out.flush();
+            for (int i=100; i<data.length; i++){
+                out.write(data[i]);
+            }
+        }
+        assertArrayEquals(data, decompress(bytes.toByteArray()));
+    }
+
+    @Test
+    void corruptedCrcIsRejected() throws IOException {
+        byte[] huf = compress(text(500, 3), 128);
+        // first block: rawLength(int) then crc32(int)
+        huf[HufFormat.FILE_HEADER_SIZE + 4] ^= 0x01;
+        IOException e = assertThrows(IOException.class, () -> decompress(huf));
+        assertTrue(e.getMessage().contains("checksum"), e.getMessage());
+    }
+
+    @Test
+    void truncatedTrailerStillStreams() throws IOException {
+        // the streaming reader stops at the end marker, only random access needs the index
+        byte[] data = text(500, 5);
+        byte[] huf = compress(data, 128);
+        assertArrayEquals(data, decompress(Arrays.copyOf(huf, huf.length - HufFormat.TRAILER_SIZE + 3)));
+    }
+
+    @Test
+    void truncatedBlockIsRejected() throws IOException {
+        byte[] huf = compress(text(500, 11), 128);
+        int indexSize = 4 + 4 * HufFormat.INDEX_ENTRY_SIZE + HufFormat.TRAILER_SIZE;
+        // cut inside the last block, before the end marker
+        byte[] truncated = Arrays.copyOf(huf, huf.length - indexSize - 4 - 10);
+        assertThrows(EOFException.class, () -> decompress(truncated));
+    }
+
+    @Test
+    void badMagicIsRejected() throws IOException {
+        byte[] huf = compress(text(10, 1), 128);
+        huf[0] = 'X';
+        assertThrows(IOException.class, () -> decompress(huf));
+    }
+
+    @Test
+    void writeAfterCloseFails() throws IOException {
+        HuffmanOutputStream out = new HuffmanOutputStream(new ByteArrayOutputStream(), 16);
+        out.close();
+        assertThrows(IOException.class, () -> out.write(1));
+    }
+}
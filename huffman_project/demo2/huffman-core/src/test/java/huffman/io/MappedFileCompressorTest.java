@@ -0,0 +1,116 @@
+package huffman.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFileCompressorTest {
+    private static final int BLOCK_SIZE = 1000;
+
+    @TempDir
+    Path dir;
+    private ExecutorService executor;
+    private final ForkJoinPool pool = new ForkJoinPool(3);
+
+    @BeforeEach
+    void startExecutor(){
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void stopExecutors(){
+        executor.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    private Path source(byte[] data) throws IOException {
+        return Files.write(dir.resolve("source"), data);
+    }
+
+    // every block is checked against its CRC on the way back
+    private byte[] readArchive(Path huf, int blocks) throws IOException {
+        try (HufArchive archive = new HufArchive(huf)) {
+            assertEquals(BLOCK_SIZE, archive.getBlockSize());
+            assertEquals(blocks, archive.getBlockCount());
+            return archive.readAll(executor);
+        }
+    }
+
+    @Test
+    void severalBlocksAndAPartialLastOne() throws IOException {
+        byte[] data = BlockCompressorTest.data(9 * BLOCK_SIZE + 321);
+        Path target = dir.resolve("mapped" + HufFormat.EXTENSION);
+        MappedFileCompressor.compress(source(data), target, BLOCK_SIZE, pool);
+        assertArrayEquals(data, readArchive(target, 10));
+
+        // the same shared code as the shared-tree block compressor, so the same bytes
+        Path shared = dir.resolve("shared" + HufFormat.EXTENSION);
+        new BlockCompressor(executor, BLOCK_SIZE, 4, true).compress(dir.resolve("source"), shared);
+        assertArrayEquals(Files.readAllBytes(shared), Files.readAllBytes(target));
+    }
+
+    @Test
+    void blocksSlicedFromSeveralRegions() throws IOException {
+        byte[] data = BlockCompressorTest.data(10 * BLOCK_SIZE + 7);
+        Path whole = dir.resolve("whole" + HufFormat.EXTENSION);
+        MappedFileCompressor.compress(source(data), whole, BLOCK_SIZE, pool);
+        // regions of three blocks, of one block, and one rounded down from a size between blocks
+        for (long region : new long[]{3 * BLOCK_SIZE, 1, 2 * BLOCK_SIZE + 500}){
+            Path target = dir.resolve("regions" + HufFormat.EXTENSION);
+            MappedFileCompressor.compress(dir.resolve("source"), target, BLOCK_SIZE, region, pool);
+            assertArrayEquals(data, readArchive(target, 11));
+            assertArrayEquals(Files.readAllBytes(whole), Files.readAllBytes(target));
+        }
+    }
+
+    @Test
+    void emptyAndTinyFiles() throws IOException {
+        Path target = dir.resolve("empty" + HufFormat.EXTENSION);
+        MappedFileCompressor.compress(source(new byte[0]), target, BLOCK_SIZE, pool);
+        assertArrayEquals(new byte[0], readArchive(target, 0));
+
+        MappedFileCompressor.compress(source(new byte[]{7}), target, BLOCK_SIZE, pool);
+        assertArrayEquals(new byte[]{7}, readArchive(target, 1));
+
+        byte[] exact = BlockCompressorTest.data(2 * BLOCK_SIZE);
+        MappedFileCompressor.compress(source(exact), target, BLOCK_SIZE, pool);
+        assertArrayEquals(exact, readArchive(target, 2));
+    }
+
+    @Test
+    void overwritesAnExistingTarget() throws IOException {
+        Path target = dir.resolve("old" + HufFormat.EXTENSION);
+        Files.write(target, new byte[100_000]);
+        byte[] data = BlockCompressorTest.data(3 * BLOCK_SIZE);
+        MappedFileCompressor.compress(source(data), target, BLOCK_SIZE, pool);
+        assertArrayEquals(data, readArchive(target, 3));
+    }
+
+    @Test
+    void corruptPayloadFailsItsCrc() throws IOException {
+        byte[] data = BlockCompressorTest.data(3 * BLOCK_SIZE);
+        Path target = dir.resolve("corrupt" + HufFormat.EXTENSION);
+        MappedFileCompressor.compress(source(data), target, BLOCK_SIZE, pool);
+        byte[] huf = Files.readAllBytes(target);
+        // well inside the payload of the first block, past its header
+        huf[HufFormat.FILE_HEADER_SIZE + 200] ^= 0x10;
+        Files.write(target, huf);
+        try (HufArchive archive = new HufArchive(target)) {
+            assertThrows(IOException.class, () -> archive.readBlock(0));
+            assertArrayEquals(Arrays.copyOfRange(data, BLOCK_SIZE, 2 * BLOCK_SIZE), archive.readBlock(1));
+        }
+    }
+}
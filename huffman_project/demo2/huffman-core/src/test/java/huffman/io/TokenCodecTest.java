@@ -0,0 +1,113 @@
+package huffman.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import huffman.algorithm.NGramTokenizer;
+import huffman.algorithm.Tokenizer;
+import huffman.algorithm.WordTokenizer;
+
+class TokenCodecTest {
+    static final String PROSE = "the cat sat on the mat, and the dog sat on the log.\n"
+            + "  Two  spaces, tabs\tand 123 numbers; the end!";
+
+    static String words(int count, long seed){
+        String[] vocabulary = {"the", "of", "and", "huffman", "code", "tree", "a", "to", "é", "😀"};
+        String[] separators = {" ", " ", " ", ", ", ".\n", "\t"};
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder();
+        for (int i=0; i<count; i++){
+            // skewed so frequent words really get shorter codes
+            sb.append(vocabulary[Math.min(vocabulary.length - 1, (int) Math.abs(random.nextGaussian() * 3))]);
+            sb.append(separators[random.nextInt(separators.length)]);
+        }
+        return sb.toString();
+    }
+
+    static void assertRoundTrip(String text, Tokenizer tokenizer) throws IOException {
+        assertEquals(text, TokenCodec.decompress(TokenCodec.compress(text, tokenizer)));
+    }
+
+    @Test
+    void wordTokens() throws IOException {
+        assertRoundTrip(PROSE, new WordTokenizer());
+        for (long seed=0; seed<20; seed++){
+            assertRoundTrip(words(1 + (int) seed * 97, seed), new WordTokenizer());
+        }
+    }
+
+    @Test
+    void nGramTokens() throws IOException {
+        for (int n=1; n<=5; n++){
+            assertRoundTrip(PROSE, new NGramTokenizer(n));
+            // the last token is shorter when n does not divide the length
+            assertRoundTrip(words(300, n), new NGramTokenizer(n));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new NGramTokenizer(0));
+    }
+
+    @Test
+    void emptyText() throws IOException {
+        assertRoundTrip("", new WordTokenizer());
+        assertRoundTrip("", new NGramTokenizer(3));
+        // magic, version and a zero token count
+        assertEquals(HufFormat.TOKEN_MAGIC.length + 2, TokenCodec.compress("", new WordTokenizer()).length);
+    }
+
+    @Test
+    void singleToken() throws IOException {
+        assertRoundTrip("word", new WordTokenizer());
+        assertRoundTrip(",", new WordTokenizer());
+        assertRoundTrip("abc", new NGramTokenizer(3));
+        assertRoundTrip("ab", new NGramTokenizer(3));
+        // one distinct token repeated still takes one bit per token
+        assertRoundTrip("hello".repeat(1000), new NGramTokenizer(5));
+        char[] spaces = new char[4096];
+        Arrays.fill(spaces, ' ');
+        assertRoundTrip(new String(spaces), new WordTokenizer());
+    }
+
+    @Test
+    void unpairedSurrogates() throws IOException {
+        String text = "a\uD800b \uDC00 x\uD83D \uDE00😀";
+        assertRoundTrip(text, new WordTokenizer());
+        assertRoundTrip(text, new NGramTokenizer(2));
+    }
+
+    @Test
+    void wordTokensBeatChars(){
+        String text = words(20000, 7);
+        byte[] words = TokenCodec.compress(text, new WordTokenizer());
+        byte[] chars = TokenCodec.compress(text, new NGramTokenizer(1));
+        assertTrue(words.length < chars.length, words.length + " bytes against " + chars.length);
+    }
+
+    @Test
+    void streamVariantMatches() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TokenCodec.compress(PROSE, new WordTokenizer(), out);
+        assertEquals(Arrays.toString(TokenCodec.compress(PROSE, new WordTokenizer())), Arrays.toString(out.toByteArray()));
+    }
+
+    @Test
+    void corruptStreams(){
+        byte[] data = TokenCodec.compress(PROSE, new WordTokenizer());
+        byte[] badMagic = data.clone();
+        badMagic[0] = 'X';
+        assertThrows(IOException.class, () -> TokenCodec.decompress(badMagic));
+        byte[] badVersion = data.clone();
+        badVersion[HufFormat.TOKEN_MAGIC.length]++;
+        assertThrows(IOException.class, () -> TokenCodec.decompress(badVersion));
+        assertThrows(IOException.class, () -> TokenCodec.decompress(Arrays.copyOf(data, 8)));
+        // cut off before the payload
+        assertThrows(IOException.class, () -> TokenCodec.decompress(Arrays.copyOf(data, data.length - 40)));
+    }
+}
@@ -0,0 +1,149 @@
+package huffman.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import huffman.algorithm.ByteCompressor;
+import huffman.algorithm.CanonicalCode;
+
+class CodeLengthHeaderTest {
+    static void assertSameCode(CodeTable expected, CodeTable actual){
+        int[] symbols = expected.getSymbols();
+        Arrays.sort(symbols);
+        int[] actualSymbols = actual.getSymbols();
+        Arrays.sort(actualSymbols);
+        assertArrayEquals(symbols, actualSymbols);
+        for (int s : symbols){
+            assertEquals(expected.getLength(s), actual.getLength(s), "length of " + s);
+            assertEquals(expected.getCode(s), actual.getCode(s), "code of " + s);
+        }
+    }
+
+    static CodeTable roundTrip(CodeTable table) throws IOException {
+        return CodeLengthHeader.fromBytes(new CodeLengthHeader(table).toBytes()).getCodeTable();
+    }
+
+    // header bytes written field by field
+    static byte[] header(int... varints) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int i=0; i<varints.length; i++){
+            // the second field is the max length byte
+            if (i == 1){out.writeByte(varints[i]);} else {CodeLengthHeader.writeVarInt(out, varints[i]);}
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void writeReadRoundTrip() throws IOException {
+        Random random = new Random(5);
+        for (int round=0; round<50; round++){
+            int[] frequencies = new int[1 + random.nextInt(300)];
+            for (int i=0; i<frequencies.length; i++){
+                // some symbols absent, so the symbol deltas skip
+                frequencies[i] = random.nextInt(3) == 0 ? 0 : 1 + (int) Math.abs(random.nextGaussian() * 1000);
+            }
+            frequencies[random.nextInt(frequencies.length)] = 1;
+            CodeTable table = ByteCompressor.buildCode(frequencies);
+            assertSameCode(table, roundTrip(table));
+        }
+
+        // lengths up to the 64-bit maximum of the canonical code
+        int[] symbols = new int[CanonicalCode.MAX_CODE_LENGTH + 1];
+        int[] lengths = new int[symbols.length];
+        for (int i=0; i<symbols.length; i++){
+            symbols[i] = i * 1000;
+            lengths[i] = Math.min(i + 1, CanonicalCode.MAX_CODE_LENGTH);
+        }
+        CodeTable deep = CanonicalCode.fromLengths(symbols, lengths);
+        assertSameCode(deep, roundTrip(deep));
+
+        // a sparse alphabet of code points and a single symbol
+        CodeTable sparse = CanonicalCode.fromLengths(new int[]{Character.MAX_CODE_POINT, 0x1F600, 'a'}, new int[]{2, 2, 1});
+        assertSameCode(sparse, roundTrip(sparse));
+        CodeTable single = CanonicalCode.fromLengths(new int[]{42}, new int[]{1});
+        assertSameCode(single, roundTrip(single));
+        assertEquals(0, roundTrip(CanonicalCode.fromLengths(new int[0], new int[0])).size());
+    }
+
+    @Test
+    void readLeavesTheRestOfTheStream() throws IOException {
+        CodeTable table = CanonicalCode.fromLengths(new int[]{'a', 'b', 'c'}, new int[]{1, 2, 2});
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        new CodeLengthHeader(table).write(out);
+        out.writeInt(0xCAFEBABE);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertSameCode(table, CodeLengthHeader.read(in).getCodeTable());
+        assertEquals(0xCAFEBABE, in.readInt());
+    }
+
+    @Test
+    void varInts() throws IOException {
+        int[] values = {0, 1, 127, 128, 16383, 16384, 1 << 21, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        int[] sizes = {1, 1, 1, 2, 2, 3, 4, 5, 5, 5};
+        for (int i=0; i<values.length; i++){
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            CodeLengthHeader.writeVarInt(new DataOutputStream(bytes), values[i]);
+            assertEquals(sizes[i], bytes.size(), "size of " + values[i]);
+            assertEquals(values[i], CodeLengthHeader.readVarInt(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+        }
+        // a sixth continuation byte
+        byte[] tooLong = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0};
+        assertThrows(IOException.class, () -> CodeLengthHeader.readVarInt(new DataInputStream(new ByteArrayInputStream(tooLong))));
+        byte[] cut = {(byte) 0x80, (byte) 0x80};
+        assertThrows(IOException.class, () -> CodeLengthHeader.readVarInt(new DataInputStream(new ByteArrayInputStream(cut))));
+    }
+
+    @Test
+    void truncatedHeaderIsRejected() throws IOException {
+        int[] frequencies = new int[40];
+        for (int i=0; i<frequencies.length; i++){
+            frequencies[i] = 1 + i * i;
+        }
+        byte[] bytes = new CodeLengthHeader(ByteCompressor.buildCode(frequencies)).toBytes();
+        for (int length=0; length<bytes.length; length++){
+            byte[] cut = Arrays.copyOf(bytes, length);
+            assertThrows(IOException.class, () -> CodeLengthHeader.fromBytes(cut), "cut at " + length);
+        }
+    }
+
+    @Test
+    void corruptHeaderIsRejected() throws IOException {
+        // the reference: symbols 3 and 5 of length 1
+        assertEquals(2, CodeLengthHeader.fromBytes(header(2, 1, 2, 3, 2)).getCodeTable().size());
+
+        // max length over the format maximum
+        IOException e = assertThrows(IOException.class, () -> CodeLengthHeader.fromBytes(header(1, CanonicalCode.MAX_CODE_LENGTH + 1, 1, 0)));
+        assertTrue(e.getMessage().contains("max length"), e.getMessage());
+        // malformed varint for the symbol count
+        assertThrows(IOException.class, () -> CodeLengthHeader.fromBytes(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF}));
+        // negative symbol count, which must not reach an array allocation
+        assertThrows(IOException.class, () -> CodeLengthHeader.fromBytes(header(-1, 1, 0)));
+        // a huge count that the data does not back
+        assertThrows(IOException.class, () -> CodeLengthHeader.fromBytes(header(Integer.MAX_VALUE, 1, 2, 3, 2)));
+        // more symbols in a length than the count allows, and fewer than it announces
+        assertThrows(IOException.class, () -> CodeLengthHeader.fromBytes(header(1, 1, 2, 3, 2)));
+        assertThrows(IOException.class, () -> CodeLengthHeader.fromBytes(header(3, 1, 2, 3, 2)));
+        // three codes of length 1 over-subscribe the code space
+        e = assertThrows(IOException.class, () -> CodeLengthHeader.fromBytes(header(3, 1, 3, 1, 1, 1)));
+        assertTrue(e.getMessage().contains("oversubscribe"), e.getMessage());
+        // the same symbol twice in one length, and once in each of two lengths
+        assertThrows(IOException.class, () -> CodeLengthHeader.fromBytes(header(2, 1, 2, 4, 0)));
+        assertThrows(IOException.class, () -> CodeLengthHeader.fromBytes(header(3, 2, 1, 7, 2, 7, 1)));
+        // symbol deltas overflowing into a negative symbol
+        assertThrows(IOException.class, () -> CodeLengthHeader.fromBytes(header(2, 1, 2, Integer.MAX_VALUE, 1)));
+    }
+}
@@ -0,0 +1,86 @@
+package huffman.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IntIntMapTest {
+    @Test
+    void getPutAdd(){
+        IntIntMap map = new IntIntMap();
+        assertEquals(0, map.size());
+        assertEquals(-7, map.get(5, -7));
+        assertFalse(map.containsKey(5));
+
+        map.put(5, 10);
+        assertTrue(map.containsKey(5));
+        assertEquals(10, map.get(5, -7));
+        map.put(5, 3);
+        assertEquals(3, map.get(5, -7));
+        assertEquals(1, map.size());
+
+        assertEquals(4, map.add(5, 1));
+        assertEquals(2, map.add(0, 2));
+        assertEquals(2, map.size());
+        assertEquals(Integer.MAX_VALUE, map.add(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> map.add(-5, 1));
+    }
+
+    @Test
+    void negativeKeysAreRejectedOnLookup(){
+        // -1 is the free slot marker, an empty map would otherwise report it as present
+        IntIntMap map = new IntIntMap();
+        assertThrows(IllegalArgumentException.class, () -> map.get(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> map.containsKey(-1));
+        map.put(3, 30);
+        assertThrows(IllegalArgumentException.class, () -> map.get(Integer.MIN_VALUE, 0));
+        assertThrows(IllegalArgumentException.class, () -> map.containsKey(-2));
+        assertEquals(1, map.size());
+        assertArrayEquals(new int[]{3}, map.keys());
+    }
+
+    @Test
+    void growsPastItsInitialCapacity(){
+        // starts at 4 slots, so this goes through many resizes
+        IntIntMap map = new IntIntMap(1);
+        HashMap<Integer,Integer> reference = new HashMap<>();
+        Random random = new Random(11);
+        for (int i=0; i<100_000; i++){
+            // keys that collide a lot in the low bits as well as spread ones
+            int key = random.nextBoolean() ? random.nextInt(1000) << 16 : random.nextInt(Character.MAX_CODE_POINT + 1);
+            int delta = 1 + random.nextInt(5);
+            assertEquals(reference.merge(key, delta, Integer::sum), map.add(key, delta));
+        }
+        assertEquals(reference.size(), map.size());
+        for (var e : reference.entrySet()){
+            assertEquals(e.getValue(), map.get(e.getKey(), -1));
+        }
+
+        int[] keys = map.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(reference.keySet().stream().mapToInt(Integer::intValue).sorted().toArray(), keys);
+    }
+
+    @Test
+    void presizedMapKeepsEverything(){
+        IntIntMap map = new IntIntMap(1000);
+        for (int i=0; i<1000; i++){
+            map.put(i * 31, i);
+        }
+        for (int i=0; i<1000; i++){
+            assertEquals(i, map.get(i * 31, -1));
+        }
+        assertEquals(1000, map.keys().length);
+        assertEquals(-1, map.get(1, -1));
+    }
+}
@@ -0,0 +1,89 @@
+package huffman.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+class SymbolDictionaryTest {
+    static byte[] write(SymbolDictionary dictionary) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        dictionary.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    static SymbolDictionary read(byte[] data) throws IOException {
+        return SymbolDictionary.read(new DataInputStream(new ByteArrayInputStream(data)));
+    }
+
+    @Test
+    void sortRenumbersAndReturnsTheRemap(){
+        SymbolDictionary dictionary = new SymbolDictionary();
+        String[] added = {"the", " cat", "a", " sat", "The"};
+        for (String token : added){
+            dictionary.add(token);
+        }
+        assertEquals(0, dictionary.add("the"));
+
+        int[] remap = dictionary.sort();
+        assertEquals(added.length, remap.length);
+        for (int old=0; old<added.length; old++){
+            assertEquals(added[old], dictionary.getToken(remap[old]));
+            assertEquals(remap[old], dictionary.getId(added[old]));
+        }
+        for (int i=1; i<dictionary.size(); i++){
+            assertTrue(dictionary.getToken(i-1).compareTo(dictionary.getToken(i)) < 0);
+        }
+        assertEquals(-1, dictionary.getId("dog"));
+        assertEquals(added.length, dictionary.add("dog"));
+    }
+
+    @Test
+    void writeReadRoundTrip() throws IOException {
+        SymbolDictionary dictionary = new SymbolDictionary();
+        String[] tokens = {"", "compress", "compressed", "compressor", "😀", "\uD800", "x\uDC00y", "été"};
+        for (String token : tokens){
+            dictionary.add(token);
+        }
+        dictionary.sort();
+        SymbolDictionary copy = read(write(dictionary));
+        assertEquals(dictionary.size(), copy.size());
+        for (int i=0; i<dictionary.size(); i++){
+            assertEquals(dictionary.getToken(i), copy.getToken(i));
+        }
+
+        SymbolDictionary empty = read(write(new SymbolDictionary()));
+        assertEquals(0, empty.size());
+    }
+
+    @Test
+    void sortingShrinksTheFrontCoding() throws IOException {
+        // neighbours in insertion order share nothing, sorted they share all but the last digits
+        SymbolDictionary dictionary = new SymbolDictionary();
+        for (int i=0; i<1000; i++){
+            dictionary.add("identifier" + i);
+            dictionary.add("variable" + i);
+        }
+        int unsorted = write(dictionary).length;
+        dictionary.sort();
+        int sorted = write(dictionary).length;
+        assertTrue(sorted * 2 < unsorted, sorted + " bytes sorted against " + unsorted);
+    }
+
+    @Test
+    void corruptEntriesAreRejected(){
+        // count 2, "ab", then a prefix longer than the previous token
+        assertThrows(IOException.class, () -> read(new byte[]{2, 0, 2, 'a', 'b', 3, 0}));
+        // count 2, "ab" twice
+        assertThrows(IOException.class, () -> read(new byte[]{2, 0, 2, 'a', 'b', 2, 0}));
+        // entry missing
+        assertThrows(IOException.class, () -> read(new byte[]{2, 0, 1, 'a'}));
+    }
+}
@@ -0,0 +1,185 @@
+package huffman.ui;
+
+import huffman.model.EncodedText;
+import javafx.collections.ObservableListBase;
+import javafx.geometry.Pos;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Virtualized viewer for a packed bitstream: the list only holds row numbers and each
+// visible cell formats its row straight from EncodedText, so the size of the stream
+// never turns into a string of the same size.
+class BitstreamView extends VBox {
+    static final int BINARY_ROW_BITS = 64;
+    static final int HEX_ROW_BITS = 256;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final EncodedText encoded;
+    private final ListView<Integer> listView = new ListView<>();
+    private boolean hex;
+
+    // row i of the stream, nothing stored
+    private static class Rows extends ObservableListBase<Integer> {
+        private final int size;
+
+        Rows(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    BitstreamView(EncodedText encoded) {
+        super(5);
+        this.encoded = encoded;
+
+        ToggleGroup modeGroup = new ToggleGroup();
+        RadioButton binaryButton = new RadioButton("Binaire");
+        RadioButton hexButton = new RadioButton("Hexadécimal");
+        binaryButton.setToggleGroup(modeGroup);
+        hexButton.setToggleGroup(modeGroup);
+        binaryButton.setSelected(true);
+        modeGroup.selectedToggleProperty().addListener((obs, old, selected) -> setHex(selected == hexButton));
+
+        Label jumpLabel = new Label("Aller au bit:");
+        jumpLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+        TextField jumpField = new TextField();
+        jumpField.setPrefWidth(120);
+        jumpField.setPromptText("0 - " + Math.max(0, encoded.getBitLength() - 1));
+        jumpField.setOnAction(e -> jumpTo(jumpField));
+        Button jumpButton = new Button("Aller");
+        jumpButton.setOnAction(e -> jumpTo(jumpField));
+
+        HBox toolBar = new HBox(10, binaryButton, hexButton, jumpLabel, jumpField, jumpButton);
+        toolBar.setAlignment(Pos.CENTER_LEFT);
+
+        listView.setFixedCellSize(18);
+        listView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        listView.setStyle("-fx-font-family: 'Consolas', monospace; -fx-font-size: 11;");
+        listView.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(Integer row, boolean empty) {
+                super.updateItem(row, empty);
+                setText(empty || row == null ? null : formatRow(row));
+            }
+        });
+        VBox.setVgrow(listView, Priority.ALWAYS);
+
+        getChildren().addAll(toolBar, listView);
+        setHex(false);
+    }
+
+    boolean isHex() {
+        return hex;
+    }
+
+    private void setHex(boolean hex) {
+        this.hex = hex;
+        long rowBits = rowBits();
+        listView.setItems(new Rows((int) ((encoded.getBitLength() + rowBits - 1) / rowBits)));
+    }
+
+    private long rowBits() {
+        return hex ? HEX_ROW_BITS : BINARY_ROW_BITS;
+    }
+
+    private void jumpTo(TextField field) {
+        long bit;
+        try {
+            bit = Long.parseLong(field.getText().trim());
+        } catch (NumberFormatException e) {
+            field.setStyle("-fx-border-color: #e74c3c;");
+            return;
+        }
+        if (bit < 0 || bit >= encoded.getBitLength()) {
+            field.setStyle("-fx-border-color: #e74c3c;");
+            return;
+        }
+        field.setStyle(null);
+        int row = (int) (bit / rowBits());
+        listView.scrollTo(row);
+        listView.getSelectionModel().clearAndSelect(row);
+    }
+
+    // bits [from, to) of each run of adjacent selected rows in stream order, empty when nothing
+    // is selected; rows left out of a multiple selection stay out
+    List<long[]> selectedRanges() {
+        int[] rows = listView.getSelectionModel().getSelectedIndices().stream()
+                .mapToInt(Integer::intValue).sorted().distinct().toArray();
+        List<long[]> res = new ArrayList<>();
+        int i = 0;
+        while (i < rows.length) {
+            int first = rows[i];
+            while (i + 1 < rows.length && rows[i + 1] == rows[i] + 1) i++;
+            res.add(new long[]{first * rowBits(), Math.min(encoded.getBitLength(), (rows[i] + 1) * rowBits())});
+            i++;
+        }
+        return res;
+    }
+
+    private String formatRow(int row) {
+        long from = row * rowBits();
+        long to = Math.min(encoded.getBitLength(), from + rowBits());
+        StringBuilder sb = new StringBuilder(hex ? 110 : 85);
+        if (hex) {
+            sb.append(String.format("0x%08X  ", from / 8));
+            for (long i = from / 8; i < (to + 7) / 8; i++) {
+                appendHex(sb, encoded.getData()[(int) i]);
+                sb.append(' ');
+            }
+        } else {
+            sb.append(String.format("%12d  ", from));
+            for (long i = from; i < to; i++) {
+                if (i > from && (i & 7) == 0) sb.append(' ');
+                sb.append(encoded.getBit(i) ? '1' : '0');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void appendHex(StringBuilder sb, byte b) {
+        sb.append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+
+    // Writes bits [from, to) as '0'/'1' or as hex digits (from a byte boundary) without
+    // separators, a chunk at a time, so copy and export never build the whole stream.
+    static void write(EncodedText encoded, Appendable out, boolean hex, long from, long to) throws IOException {
+        StringBuilder chunk = new StringBuilder(8192);
+        if (hex) {
+            for (long i = from / 8; i < (to + 7) / 8; i++) {
+                appendHex(chunk, encoded.getData()[(int) i]);
+                if (chunk.length() >= 8192) {
+                    out.append(chunk);
+                    chunk.setLength(0);
+                }
+            }
+        } else {
+            for (long i = from; i < to; i++) {
+                chunk.append(encoded.getBit(i) ? '1' : '0');
+                if (chunk.length() >= 8192) {
+                    out.append(chunk);
+                    chunk.setLength(0);
+                }
+            }
+        }
+        out.append(chunk);
+    }
+}
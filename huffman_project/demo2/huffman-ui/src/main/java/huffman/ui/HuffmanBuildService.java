@@ -0,0 +1,108 @@
+package huffman.ui;
+
+import huffman.algorithm.BitWriter;
+import huffman.algorithm.Compressor;
+import huffman.algorithm.FrequencyCounter;
+import huffman.algorithm.StepRecorder;
+import huffman.algorithm.TreeBuilder;
+import huffman.model.CodeTable;
+import huffman.model.EncodedText;
+import huffman.model.HuffmanTree;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.Executors;
+
+// Runs load -> count -> build -> encode for a file on a worker thread, so the FX thread never
+// waits on a large file. load() restarts the service, which cancels a build still in flight.
+public class HuffmanBuildService extends Service<HuffmanBuildService.Result> {
+    private static final int ENCODE_CHUNK = 1 << 16;
+
+    public static class Result {
+        private final File file;
+        private final String text;
+        private final HuffmanTree tree;
+        private final EncodedText encoded;
+
+        Result(File file, String text, HuffmanTree tree, EncodedText encoded) {
+            this.file = file;
+            this.text = text;
+            this.tree = tree;
+            this.encoded = encoded;
+        }
+
+        public File getFile() { return file; }
+        public String getText() { return text; }
+        public HuffmanTree getTree() { return tree; }
+        public EncodedText getEncoded() { return encoded; }
+    }
+
+    private File file;
+
+    public HuffmanBuildService() {
+        setExecutor(Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "huffman-build");
+            t.setDaemon(true);
+            return t;
+        }));
+    }
+
+    public void load(File file) {
+        this.file = file;
+        restart();
+    }
+
+    // tree and code for text already in memory, on the calling thread
+    public static Result build(File file, String text) {
+        HuffmanTree tree = TreeBuilder.buildHuffmanTree(text, StepRecorder.REPLAY);
+        tree.generateMycode();
+        return new Result(file, text, tree, Compressor.compressToBits(text, tree));
+    }
+
+    @Override
+    protected Task<Result> createTask() {
+        final File source = file;
+        return new Task<>() {
+            @Override
+            protected Result call() throws Exception {
+                updateMessage("📖 Lecture de " + source.getName() + "...");
+                updateProgress(0, 1);
+                String text = new String(Files.readAllBytes(source.toPath()), StandardCharsets.UTF_8);
+                if (text.trim().isEmpty()) {
+                    throw new IllegalArgumentException("Le fichier sélectionné est vide.");
+                }
+                if (isCancelled()) return null;
+
+                updateMessage("🔢 Comptage des fréquences (" + text.length() + " caractères)...");
+                updateProgress(0.1, 1);
+                int[] frequencies = FrequencyCounter.getFrequencyParallel(text);
+                int unique = 0;
+                for (int f : frequencies) {
+                    if (f > 0) unique++;
+                }
+                if (isCancelled()) return null;
+
+                updateMessage("🌳 Construction de l'arbre (" + unique + " caractères uniques)...");
+                updateProgress(0.3, 1);
+                HuffmanTree tree = TreeBuilder.buildHuffmanTree(frequencies, StepRecorder.REPLAY);
+                tree.generateMycode();
+                if (isCancelled()) return null;
+
+                CodeTable table = tree.getCodeTable();
+                BitWriter writer = new BitWriter(text.length() / 2);
+                for (int from = 0; from < text.length(); from += ENCODE_CHUNK) {
+                    if (isCancelled()) return null;
+                    int to = Math.min(text.length(), from + ENCODE_CHUNK);
+                    Compressor.compress(text, from, to, table, writer);
+                    updateProgress(0.4 + 0.6 * to / text.length(), 1);
+                    updateMessage(String.format("🔐 Encodage: %d / %d caractères → %d bits",
+                            to, text.length(), writer.getBitLength()));
+                }
+                return new Result(source, text, tree, writer.toEncodedText(text.length()));
+            }
+        };
+    }
+}
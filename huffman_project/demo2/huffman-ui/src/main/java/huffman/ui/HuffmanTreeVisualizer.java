@@ -1,9 +1,10 @@
 package huffman.ui;
 
-import huffman.algorithm.*;
+import huffman.model.EncodedText;
 import huffman.model.HuffmanNode;
 import huffman.model.HuffmanTree;
 import javafx.application.Application;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -20,24 +21,38 @@ import javafx.scene.input.ClipboardContent;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
 
 public class HuffmanTreeVisualizer extends Application {
 
     private HuffmanTree huffmanTree;
+    private EncodedText encodedText;
+    private HuffmanBuildService buildService;
     private List<List<HuffmanNode>> constructionSteps;
     private int currentStep = 0;
+    // nodes of currentStep as last materialized, -1 when they belong to no step
+    private List<HuffmanNode> stepNodes;
+    private int stepNodesIndex = -1;
     private char currentHighlightedChar = '\0';
     private int animationStep = 0;
-    private Timer animationTimer;
-    private Timer autoPlayTimer;
+    private final PathAnimator pathAnimator = createPathAnimator();
     private boolean isAutoPlaying = false;
     private List<Character> autoPlayCharacters;
-    private int currentAutoPlayIndex = 0;
 
+    // base layer: the tree or the current step, redrawn only when the step or the viewport changes
     private Canvas canvas;
+    // path animation layer on top of it, redrawn on every animation tick
+    private Canvas overlayCanvas;
+    private double overlayMinX = Double.NaN;
+    private double overlayMinY;
+    private double overlayMaxX;
+    private double overlayMaxY;
+    private char cachedPathChar = '\0';
+    private List<HuffmanNode> cachedPath;
     private Label stepLabel;
     private Label infoLabel;
     private Button prevButton;
@@ -53,33 +68,37 @@ public class HuffmanTreeVisualizer extends Application {
     private Label fileInfoLabel;
     private Button autoPlayButton;
     private Button stopAnimationButton;
-
-    private static final int CANVAS_WIDTH = 1600;
-    private static final int CANVAS_HEIGHT = 800;
-    private static final int NODE_RADIUS = 20;
-    private static final Color NODE_COLOR = Color.web("#3498db");
-    private static final Color LEAF_COLOR = Color.web("#2ecc71");
-    private static final Color TEXT_COLOR = Color.WHITE;
-    private static final Color LINE_COLOR = Color.web("#34495e");
-    private static final Color HIGHLIGHT_COLOR = Color.web("#E74C3C");
+    private Label statsLabel;
+    private ProgressBar loadProgressBar;
+    private Label loadProgressLabel;
+    private Button cancelLoadButton;
+
+    private static final int CANVAS_WIDTH = 1500;
+    private static final int CANVAS_HEIGHT = 600;
+    private static final double NODE_RADIUS = TreeRenderer.NODE_RADIUS;
+    private static final Color HIGHLIGHT_COLOR = TreeRenderer.HIGHLIGHT_COLOR;
     private static final Color PATH_COLOR = Color.web("#F39C12");
+    private static final double ZOOM_STEP = 1.25;
+    private static final long PATH_STEP_MILLIS = 500;
+    private static final long AUTO_PLAY_STEP_MILLIS = 80;
+    private static final long AUTO_PLAY_GAP_MILLIS = 50;
+    private static final String[] SPEEDS = {"×0.5", "×1", "×2", "×4", "×8"};
+    private static final int ORIGINAL_PREVIEW_CHARS = 20_000;
+    private static final long COPY_LIMIT_BITS = 1 << 22;
+
+    private final TreeRenderer treeRenderer = new TreeRenderer();
+    private double dragX;
+    private double dragY;
 
     private File currentFile;
     private String currentText = "";
 
-    private static class NodePosition {
-        double x, y;
-        NodePosition(double x, double y) {
-            this.x = x;
-            this.y = y;
-        }
-    }
-
     @Override
     public void start(Stage primaryStage) {
         currentText = "Huffman coding is a popular algorithm used for lossless data compression. It was developed by David A. Huffman.";
 
-        initializeHuffmanTree();
+        applyBuild(HuffmanBuildService.build(null, currentText));
+        createBuildService();
 
         BorderPane root = new BorderPane();
         root.setStyle("-fx-background-color: #ecf0f1;");
@@ -101,21 +120,39 @@ public class HuffmanTreeVisualizer extends Application {
         primaryStage.show();
     }
 
-    private void initializeHuffmanTree() {
-        huffmanTree = TreeBuilder.buildHuffmanTree(currentText);
+    private void applyBuild(HuffmanBuildService.Result result) {
+        currentFile = result.getFile();
+        currentText = result.getText();
+        huffmanTree = result.getTree();
+        encodedText = result.getEncoded();
         constructionSteps = huffmanTree.getConstructionSteps();
-        huffmanTree.generateMycode();
         currentStep = 0;
+        stepNodesIndex = -1;
+        treeRenderer.setLayout(new TreeLayout(huffmanTree.getRoot()));
     }
 
-    private String loadTextFromFile(File file) {
-        try {
-            byte[] bytes = Files.readAllBytes(file.toPath());
-            return new String(bytes, StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            showErrorDialog("Erreur de lecture", "Impossible de lire le fichier: " + e.getMessage());
-            return null;
-        }
+    private void createBuildService() {
+        buildService = new HuffmanBuildService();
+        buildService.setOnSucceeded(e -> {
+            HuffmanBuildService.Result result = buildService.getValue();
+            stopPathAnimation();
+            isAutoPlaying = false;
+            currentHighlightedChar = '\0';
+            applyBuild(result);
+            updateVisualization();
+            updateStatsLabel(statsLabel);
+            fileInfoLabel.setText("📁 Fichier: " + currentFile.getName() + " (" + currentText.length() + " caractères)");
+            pathInfoLabel.setText("✅ Fichier chargé avec succès - " + constructionSteps.size() + " étapes de construction");
+        });
+        buildService.setOnFailed(e -> {
+            Throwable error = buildService.getException();
+            if (error instanceof IllegalArgumentException) {
+                showErrorDialog("Fichier vide", error.getMessage());
+            } else {
+                showErrorDialog("Erreur de lecture", "Impossible de lire le fichier: " + error.getMessage());
+            }
+        });
+        buildService.setOnCancelled(e -> pathInfoLabel.setText("⏹ Chargement annulé"));
     }
 
     private void showErrorDialog(String title, String message) {
@@ -144,33 +181,9 @@ public class HuffmanTreeVisualizer extends Application {
 
         File selectedFile = fileChooser.showOpenDialog(null);
         if (selectedFile != null) {
-            String fileContent = loadTextFromFile(selectedFile);
-            if (fileContent != null && !fileContent.trim().isEmpty()) {
-                currentFile = selectedFile;
-                currentText = fileContent;
-                initializeHuffmanTree();
-                updateVisualization();
-                fileInfoLabel.setText("📁 Fichier: " + selectedFile.getName() + " (" + fileContent.length() + " caractères)");
-                pathInfoLabel.setText("✅ Fichier chargé avec succès - " + constructionSteps.size() + " étapes de construction");
-            } else if (fileContent != null) {
-                showErrorDialog("Fichier vide", "Le fichier sélectionné est vide.");
-            }
-        }
-    }
-
-    private String encodeText(String text) {
-        if (huffmanTree == null || huffmanTree.getCode() == null) {
-            return null;
-        }
-
-        StringBuilder encoded = new StringBuilder();
-        for (char c : text.toCharArray()) {
-            String code = huffmanTree.getCode().get(c);
-            if (code != null) {
-                encoded.append(code);
-            }
+            // the current tree stays on screen until the new one is ready
+            buildService.load(selectedFile);
         }
-        return encoded.toString();
     }
 
     private void showEncodedText() {
@@ -179,8 +192,7 @@ public class HuffmanTreeVisualizer extends Application {
             return;
         }
 
-        String encodedText = encodeText(currentText);
-        if (encodedText == null || encodedText.isEmpty()) {
+        if (encodedText == null || encodedText.getBitLength() == 0) {
             showErrorDialog("Erreur", "Impossible d'encoder le texte.");
             return;
         }
@@ -203,8 +215,8 @@ public class HuffmanTreeVisualizer extends Application {
         statsLabel.setTextFill(Color.web("#27ae60"));
         statsLabel.setAlignment(Pos.CENTER);
 
-        int originalBits = currentText.length() * 8;
-        int encodedBits = encodedText.length();
+        long originalBits = currentText.length() * 8L;
+        long encodedBits = this.encodedText.getBitLength();
         double compressionRatio = (1 - (double) encodedBits / originalBits) * 100;
 
         statsLabel.setText(String.format(
@@ -224,7 +236,10 @@ public class HuffmanTreeVisualizer extends Application {
         originalTextArea.setWrapText(true);
         originalTextArea.setPrefHeight(100);
         originalTextArea.setStyle("-fx-font-family: 'Arial'; -fx-font-size: 12;");
-        originalTextArea.setText(currentText);
+        // a preview only: a TextArea holding a whole large file is what made this window hang
+        originalTextArea.setText(currentText.length() > ORIGINAL_PREVIEW_CHARS
+                ? currentText.substring(0, ORIGINAL_PREVIEW_CHARS) + "\n..."
+                : currentText);
 
         Label originalStats = new Label("Longueur: " + currentText.length() + " caractères • " + originalBits + " bits (ASCII)");
         originalStats.setFont(Font.font("Arial", FontWeight.NORMAL, 11));
@@ -239,19 +254,15 @@ public class HuffmanTreeVisualizer extends Application {
         encodedTitle.setFont(Font.font("Arial", FontWeight.BOLD, 14));
         encodedTitle.setTextFill(Color.web("#e67e22"));
 
-        TextArea encodedTextArea = new TextArea();
-        encodedTextArea.setEditable(false);
-        encodedTextArea.setWrapText(true);
-        encodedTextArea.setPrefHeight(150);
-        encodedTextArea.setStyle("-fx-font-family: 'Consolas', monospace; -fx-font-size: 11; -fx-font-weight: bold;");
-        encodedTextArea.setText(formatEncodedText(encodedText));
+        BitstreamView bitstreamView = new BitstreamView(encodedText);
+        bitstreamView.setPrefHeight(220);
 
-        Label encodedStats = new Label("Longueur: " + encodedText.length() + " bits • " +
+        Label encodedStats = new Label("Longueur: " + encodedBits + " bits • " +
                 String.format("Ratio de compression: %.1f%%", compressionRatio));
         encodedStats.setFont(Font.font("Arial", FontWeight.NORMAL, 11));
         encodedStats.setTextFill(Color.web("#e67e22"));
 
-        encodedBox.getChildren().addAll(encodedTitle, encodedTextArea, encodedStats);
+        encodedBox.getChildren().addAll(encodedTitle, bitstreamView, encodedStats);
 
         VBox codesBox = new VBox(5);
         codesBox.setStyle("-fx-background-color: #e8f4f8; -fx-border-color: #3498db; -fx-border-radius: 5; -fx-padding: 10;");
@@ -272,18 +283,15 @@ public class HuffmanTreeVisualizer extends Application {
         buttonBox.setAlignment(Pos.CENTER);
 
         Button copyEncodedButton = createStyledButton("📋 Copier le texte codé", "#27ae60", 12);
-        copyEncodedButton.setOnAction(e -> {
-            String encoded = encodedTextArea.getText().replaceAll("\\s", "");
-            ClipboardContent content = new ClipboardContent();
-            content.putString(encoded);
-            javafx.scene.input.Clipboard.getSystemClipboard().setContent(content);
-            showInfoDialog("Succès", "Texte codé copié dans le presse-papiers !");
-        });
+        copyEncodedButton.setOnAction(e -> copyEncodedText(bitstreamView));
+
+        Button exportEncodedButton = createStyledButton("💾 Exporter", "#3498db", 12);
+        exportEncodedButton.setOnAction(e -> exportEncodedText(bitstreamView, encodedStage));
 
         Button closeButton = createStyledButton("Fermer", "#e74c3c", 12);
         closeButton.setOnAction(e -> encodedStage.close());
 
-        buttonBox.getChildren().addAll(copyEncodedButton, closeButton);
+        buttonBox.getChildren().addAll(copyEncodedButton, exportEncodedButton, closeButton);
 
         root.getChildren().addAll(titleLabel, statsLabel, originalBox, encodedBox, codesBox, buttonBox);
 
@@ -292,21 +300,60 @@ public class HuffmanTreeVisualizer extends Application {
         encodedStage.show();
     }
 
-    private String formatEncodedText(String encodedText) {
-        StringBuilder formatted = new StringBuilder();
-        int groupSize = 8;
-        int count = 0;
-
-        for (int i = 0; i < encodedText.length(); i++) {
-            formatted.append(encodedText.charAt(i));
-            count++;
+    // copies the selected rows, one line per run of adjacent rows, or the whole stream while it
+    // stays small enough for the clipboard
+    private void copyEncodedText(BitstreamView view) {
+        List<long[]> ranges = view.selectedRanges();
+        if (ranges.isEmpty()) ranges = List.of(new long[]{0, encodedText.getBitLength()});
+        long bits = 0;
+        for (long[] range : ranges) bits += range[1] - range[0];
+        if (bits > COPY_LIMIT_BITS) {
+            showInfoDialog("Trop volumineux", "Le texte codé est trop long pour le presse-papiers. " +
+                    "Sélectionnez des lignes ou utilisez « Exporter ».");
+            return;
+        }
 
-            if (count % groupSize == 0 && i != encodedText.length() - 1) {
-                formatted.append(" ");
+        StringBuilder encoded = new StringBuilder((int) bits + ranges.size());
+        try {
+            for (long[] range : ranges) {
+                if (encoded.length() > 0) encoded.append('\n');
+                BitstreamView.write(encodedText, encoded, view.isHex(), range[0], range[1]);
             }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
         }
+        ClipboardContent content = new ClipboardContent();
+        content.putString(encoded.toString());
+        javafx.scene.input.Clipboard.getSystemClipboard().setContent(content);
+        showInfoDialog("Succès", "Texte codé copié dans le presse-papiers !");
+    }
 
-        return formatted.toString();
+    // streams the whole encoded text to a file on a worker thread
+    private void exportEncodedText(BitstreamView view, Stage owner) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Exporter le texte codé");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Fichiers texte", "*.txt"));
+        File target = fileChooser.showSaveDialog(owner);
+        if (target == null) return;
+
+        final EncodedText encoded = encodedText;
+        final boolean hex = view.isHex();
+        Task<Void> export = new Task<>() {
+            @Override
+            protected Void call() throws Exception {
+                try (Writer out = Files.newBufferedWriter(target.toPath(), StandardCharsets.US_ASCII)) {
+                    BitstreamView.write(encoded, out, hex, 0, encoded.getBitLength());
+                }
+                return null;
+            }
+        };
+        export.setOnSucceeded(e -> showInfoDialog("Succès", "Texte codé exporté dans " + target.getName()));
+        export.setOnFailed(e -> showErrorDialog("Erreur d'écriture",
+                "Impossible d'écrire le fichier: " + export.getException().getMessage()));
+
+        Thread thread = new Thread(export, "huffman-export");
+        thread.setDaemon(true);
+        thread.start();
     }
 
     private String generateCodesPreview() {
@@ -346,7 +393,24 @@ public class HuffmanTreeVisualizer extends Application {
         fileInfoLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
         fileInfoLabel.setTextFill(Color.web("#BDC3C7"));
 
-        vbox.getChildren().addAll(titleLabel, infoLabel, fileInfoLabel);
+        loadProgressBar = new ProgressBar();
+        loadProgressBar.setPrefWidth(400);
+        loadProgressBar.progressProperty().bind(buildService.progressProperty());
+
+        loadProgressLabel = new Label();
+        loadProgressLabel.setFont(Font.font("Arial", 12));
+        loadProgressLabel.setTextFill(Color.WHITE);
+        loadProgressLabel.textProperty().bind(buildService.messageProperty());
+
+        cancelLoadButton = createStyledButton("✖ Annuler", "#e74c3c", 11);
+        cancelLoadButton.setOnAction(e -> buildService.cancel());
+
+        HBox progressBox = new HBox(10, loadProgressBar, loadProgressLabel, cancelLoadButton);
+        progressBox.setAlignment(Pos.CENTER);
+        progressBox.visibleProperty().bind(buildService.runningProperty());
+        progressBox.managedProperty().bind(buildService.runningProperty());
+
+        vbox.getChildren().addAll(titleLabel, infoLabel, fileInfoLabel, progressBox);
         vbox.setAlignment(Pos.CENTER);
         return vbox;
     }
@@ -366,22 +430,91 @@ public class HuffmanTreeVisualizer extends Application {
         pathInfoLabel.setAlignment(Pos.CENTER);
         pathInfoLabel.setPrefWidth(CANVAS_WIDTH);
 
+        // the canvas follows the size of its pane, zoom and pan replace the scroll bars
         canvas = new Canvas(CANVAS_WIDTH, CANVAS_HEIGHT);
-        canvas.setStyle("-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 15, 0, 0, 3);");
-
-        ScrollPane scrollPane = new ScrollPane(canvas);
-        scrollPane.setPrefViewportWidth(1500);
-        scrollPane.setPrefViewportHeight(600);
-        scrollPane.setStyle("-fx-background: #ffffff; -fx-border-color: #bdc3c7; -fx-border-radius: 8;");
-        scrollPane.setFitToWidth(false);
-        scrollPane.setFitToHeight(false);
-        scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-        scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-
-        vbox.getChildren().addAll(stepLabel, pathInfoLabel, scrollPane);
+        overlayCanvas = new Canvas(CANVAS_WIDTH, CANVAS_HEIGHT);
+        overlayCanvas.setMouseTransparent(true);
+        Pane canvasPane = new Pane(canvas, overlayCanvas);
+        canvasPane.setPrefSize(CANVAS_WIDTH, CANVAS_HEIGHT);
+        canvasPane.setMinSize(0, 0);
+        canvasPane.setStyle("-fx-background-color: #ffffff; -fx-border-color: #bdc3c7; -fx-border-radius: 8;");
+        canvas.widthProperty().bind(canvasPane.widthProperty());
+        canvas.heightProperty().bind(canvasPane.heightProperty());
+        overlayCanvas.widthProperty().bind(canvasPane.widthProperty());
+        overlayCanvas.heightProperty().bind(canvasPane.heightProperty());
+        canvas.widthProperty().addListener((obs, oldValue, newValue) -> redraw());
+        canvas.heightProperty().addListener((obs, oldValue, newValue) -> redraw());
+        VBox.setVgrow(canvasPane, Priority.ALWAYS);
+
+        canvas.setOnScroll(e -> {
+            if (!isFinalTreeShown()) return;
+            treeRenderer.zoom(e.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP, e.getX(), e.getY());
+            redraw();
+        });
+        canvas.setOnMousePressed(e -> {
+            dragX = e.getX();
+            dragY = e.getY();
+        });
+        canvas.setOnMouseDragged(e -> {
+            if (!isFinalTreeShown()) return;
+            treeRenderer.pan(e.getX() - dragX, e.getY() - dragY);
+            dragX = e.getX();
+            dragY = e.getY();
+            redraw();
+        });
+        canvas.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2 && isFinalTreeShown()) {
+                fitTree();
+            }
+        });
+
+        Button zoomInButton = createStyledButton("🔍 +", "#34495e", 12);
+        zoomInButton.setOnAction(e -> zoomAroundCenter(ZOOM_STEP));
+        Button zoomOutButton = createStyledButton("🔍 −", "#34495e", 12);
+        zoomOutButton.setOnAction(e -> zoomAroundCenter(1 / ZOOM_STEP));
+        Button fitButton = createStyledButton("⤢ Ajuster", "#34495e", 12);
+        fitButton.setOnAction(e -> fitTree());
+        Label zoomHint = new Label("Molette: zoom • Glisser: déplacer • Double-clic: ajuster");
+        zoomHint.setFont(Font.font("Arial", 11));
+        zoomHint.setTextFill(Color.web("#7f8c8d"));
+        HBox zoomBox = new HBox(10, zoomInButton, zoomOutButton, fitButton, zoomHint);
+        zoomBox.setAlignment(Pos.CENTER);
+
+        vbox.getChildren().addAll(stepLabel, pathInfoLabel, zoomBox, canvasPane);
         return vbox;
     }
 
+    private boolean isFinalTreeShown() {
+        return currentStep == constructionSteps.size() - 1;
+    }
+
+    private void zoomAroundCenter(double factor) {
+        if (!isFinalTreeShown()) return;
+        treeRenderer.zoom(factor, canvas.getWidth() / 2, canvas.getHeight() / 2);
+        redraw();
+    }
+
+    private void fitTree() {
+        treeRenderer.fit(canvas.getWidth(), canvas.getHeight());
+        redraw();
+    }
+
+    // repaints the current step without touching the controls, for viewport changes
+    private void redraw() {
+        if (constructionSteps == null || constructionSteps.isEmpty()) return;
+        drawStep(currentStepNodes());
+    }
+
+    // The step list is a replay of the merge log that rebuilds a step in O(n), so the nodes are
+    // kept until the step changes instead of being rebuilt on every pan, zoom or resize.
+    private List<HuffmanNode> currentStepNodes() {
+        if (stepNodesIndex != currentStep) {
+            stepNodes = constructionSteps.get(currentStep);
+            stepNodesIndex = currentStep;
+        }
+        return stepNodes;
+    }
+
     private VBox createBottomSection() {
         VBox vbox = new VBox(15);
         vbox.setPadding(new Insets(20));
@@ -422,7 +555,18 @@ public class HuffmanTreeVisualizer extends Application {
         stopAnimationButton = createStyledButton("⏹ Arrêter", "#95A5A6", 14);
         stopAnimationButton.setOnAction(e -> stopAnimation());
 
-        pathControlBox.getChildren().addAll(pathLabel, characterComboBox, showPathButton, autoPlayButton, stopAnimationButton);
+        Label speedLabel = new Label("Vitesse:");
+        speedLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+        speedLabel.setTextFill(Color.web("#2C3E50"));
+
+        ComboBox<String> speedComboBox = new ComboBox<>();
+        speedComboBox.getItems().addAll(SPEEDS);
+        speedComboBox.setValue("×1");
+        speedComboBox.setStyle("-fx-font-size: 14;");
+        speedComboBox.setOnAction(e -> pathAnimator.setSpeed(Double.parseDouble(speedComboBox.getValue().substring(1))));
+
+        pathControlBox.getChildren().addAll(pathLabel, characterComboBox, showPathButton, autoPlayButton, stopAnimationButton,
+                speedLabel, speedComboBox);
 
         HBox mainButtonBox = new HBox(20);
         mainButtonBox.setAlignment(Pos.CENTER);
@@ -445,7 +589,7 @@ public class HuffmanTreeVisualizer extends Application {
         instructionLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
         instructionLabel.setTextFill(Color.web("#27ae60"));
 
-        Label statsLabel = new Label();
+        statsLabel = new Label();
         statsLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 11));
         statsLabel.setTextFill(Color.web("#7f8c8d"));
         updateStatsLabel(statsLabel);
@@ -499,36 +643,17 @@ public class HuffmanTreeVisualizer extends Application {
     }
 
     private void startCharacterAnimation(final char character) {
-        stopAnimationTimers();
+        stopPathAnimation();
         isAutoPlaying = false;
 
-        currentHighlightedChar = character;
-        animationStep = 0;
-
         final String code = huffmanTree.getCode().get(character);
         if (code == null) return;
 
-        pathInfoLabel.setText("Chemin en cours: " + formatCharacterForDisplay(character) + " → " + code);
-
-        animationTimer = new Timer();
-        animationTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                javafx.application.Platform.runLater(() -> {
-                    animationStep++;
-                    updateVisualization();
-
-                    if (animationStep >= code.length() * 2 + 10) {
-                        animationTimer.cancel();
-                        pathInfoLabel.setText("✓ Chemin complet: " + formatCharacterForDisplay(character) + " = " + code);
-                    }
-                });
-            }
-        }, 0, 500);
+        pathAnimator.play(List.of(character), this::pathStepCount, PATH_STEP_MILLIS, 0);
     }
 
     private void startAutoPlay() {
-        stopAnimationTimers();
+        stopPathAnimation();
         isAutoPlaying = true;
 
         autoPlayCharacters = new ArrayList<>(huffmanTree.getCode().keySet());
@@ -540,99 +665,70 @@ public class HuffmanTreeVisualizer extends Application {
             return Character.compare(c1, c2);
         });
 
-        currentAutoPlayIndex = 0;
-
         if (autoPlayCharacters.isEmpty()) {
+            isAutoPlaying = false;
             pathInfoLabel.setText("❌ Aucun caractère à afficher");
             return;
         }
 
         pathInfoLabel.setText("🎬 Démarrage de la lecture auto... " + autoPlayCharacters.size() + " caractères");
-
-        javafx.application.Platform.runLater(() -> {
-            playNextCharacter();
-        });
+        pathAnimator.play(autoPlayCharacters, this::pathStepCount, AUTO_PLAY_STEP_MILLIS, AUTO_PLAY_GAP_MILLIS);
     }
 
-    private void playNextCharacter() {
-        if (!isAutoPlaying || currentAutoPlayIndex >= autoPlayCharacters.size()) {
-            isAutoPlaying = false;
-            currentHighlightedChar = '\0';
-            pathInfoLabel.setText("✅ Lecture auto terminée - " + autoPlayCharacters.size() + " chemins affichés");
-            updateVisualization();
-            return;
-        }
-
-        char currentChar = autoPlayCharacters.get(currentAutoPlayIndex);
-        currentHighlightedChar = currentChar;
-        characterComboBox.setValue(formatCharacterForComboBox(currentChar));
-        animationStep = 0;
-
-        final String code = huffmanTree.getCode().get(currentChar);
-        final int currentIndex = currentAutoPlayIndex;
-        final int totalChars = autoPlayCharacters.size();
-
-        pathInfoLabel.setText("🎬 Lecture Auto (" + (currentIndex + 1) + "/" + totalChars +
-                "): " + formatCharacterForDisplay(currentChar) + " → " + code);
+    // two steps per edge, then a pause on the complete path
+    private int pathStepCount(char c) {
+        return huffmanTree.getCode().get(c).length() * 2 + 10;
+    }
 
-        if (animationTimer != null) {
-            animationTimer.cancel();
-        }
+    private PathAnimator createPathAnimator() {
+        return new PathAnimator(new PathAnimator.Listener() {
+            @Override
+            public void characterStarted(char c, int index, int count) {
+                currentHighlightedChar = c;
+                animationStep = 0;
+                String code = huffmanTree.getCode().get(c);
+
+                if (isAutoPlaying) {
+                    characterComboBox.setValue(formatCharacterForComboBox(c));
+                    pathInfoLabel.setText("🎬 Lecture Auto (" + (index + 1) + "/" + count +
+                            "): " + formatCharacterForDisplay(c) + " → " + code);
+                } else {
+                    pathInfoLabel.setText("Chemin en cours: " + formatCharacterForDisplay(c) + " → " + code);
+                }
+                drawOverlay();
+            }
 
-        int animationDuration = Math.max(code.length() * 100, 300);
+            @Override
+            public void stepChanged(int step) {
+                animationStep = step;
+                drawOverlay();
+            }
 
-        animationTimer = new Timer();
-        animationTimer.scheduleAtFixedRate(new TimerTask() {
             @Override
-            public void run() {
-                javafx.application.Platform.runLater(() -> {
-                    animationStep++;
-                    updateVisualization();
-
-                    if (animationStep >= code.length() * 2 + 10) {
-                        animationTimer.cancel();
-
-                        currentAutoPlayIndex++;
-                        if (currentAutoPlayIndex < autoPlayCharacters.size()) {
-                            Timer nextTimer = new Timer();
-                            nextTimer.schedule(new TimerTask() {
-                                @Override
-                                public void run() {
-                                    javafx.application.Platform.runLater(() -> {
-                                        playNextCharacter();
-                                    });
-                                }
-                            }, 50);
-                        } else {
-                            isAutoPlaying = false;
-                            currentHighlightedChar = '\0';
-                            pathInfoLabel.setText("✅ Lecture auto terminée - " + totalChars + " chemins affichés");
-                            updateVisualization();
-                        }
-                    }
-                });
+            public void characterFinished(char c, int index, int count) {
+                if (!isAutoPlaying) {
+                    pathInfoLabel.setText("✓ Chemin complet: " + formatCharacterForDisplay(c) + " = " + huffmanTree.getCode().get(c));
+                } else if (index == count - 1) {
+                    isAutoPlaying = false;
+                    currentHighlightedChar = '\0';
+                    pathInfoLabel.setText("✅ Lecture auto terminée - " + count + " chemins affichés");
+                    drawOverlay();
+                }
             }
-        }, 0, 80);
+        });
     }
 
-    private void stopAnimationTimers() {
-        if (animationTimer != null) {
-            animationTimer.cancel();
-            animationTimer = null;
-        }
-        if (autoPlayTimer != null) {
-            autoPlayTimer.cancel();
-            autoPlayTimer = null;
-        }
+    private void stopPathAnimation() {
+        pathAnimator.stop();
     }
 
     private void stopAnimation() {
-        stopAnimationTimers();
+        stopPathAnimation();
         isAutoPlaying = false;
         currentHighlightedChar = '\0';
         animationStep = 0;
         pathInfoLabel.setText("⏹ Animation arrêtée");
-        updateVisualization();
+        drawOverlay();
     }
 
     private void updateCharacterComboBox() {
@@ -785,58 +881,80 @@ public class HuffmanTreeVisualizer extends Application {
             stopAnimationButton.setDisable(true);
 
 
-            stopAnimationTimers();
+            stopPathAnimation();
             isAutoPlaying = false;
             currentHighlightedChar = '\0';
             animationStep = 0;
         }
 
-        List<HuffmanNode> currentNodes = constructionSteps.get(currentStep);
-        drawStep(currentNodes);
+        drawStep(currentStepNodes());
     }
 
     private void drawStep(List<HuffmanNode> nodes) {
         GraphicsContext gc = canvas.getGraphicsContext2D();
 
         gc.setFill(Color.WHITE);
-        gc.fillRect(0, 0, CANVAS_WIDTH, CANVAS_HEIGHT);
-
-        if (nodes.isEmpty()) return;
+        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
 
-        if (currentStep == constructionSteps.size() - 1 && nodes.size() == 1) {
-            drawCompleteTree(gc, nodes.get(0));
-        } else {
-            drawNodeList(gc, nodes);
+        if (!nodes.isEmpty()) {
+            if (currentStep == constructionSteps.size() - 1 && nodes.size() == 1) {
+                treeRenderer.render(gc, canvas.getWidth(), canvas.getHeight(), null);
+            } else {
+                drawNodeList(gc, nodes);
+            }
         }
+        overlayMinX = 0;
+        overlayMinY = 0;
+        overlayMaxX = overlayCanvas.getWidth();
+        overlayMaxY = overlayCanvas.getHeight();
+        drawOverlay();
     }
 
-    private void drawCompleteTree(GraphicsContext gc, HuffmanNode root) {
-        Map<HuffmanNode, NodePosition> positions = new HashMap<>();
-        calculateTreePositions(root, positions, CANVAS_WIDTH / 2, 80, CANVAS_WIDTH / 3, 100);
-
-        drawTreeLines(gc, root, positions);
+    // Clears what the overlay drew last time and draws the highlighted path again; the base
+    // layer is left alone, so a tick costs a few lines instead of a full tree repaint.
+    private void drawOverlay() {
+        GraphicsContext gc = overlayCanvas.getGraphicsContext2D();
+        if (!Double.isNaN(overlayMinX)) {
+            gc.clearRect(overlayMinX, overlayMinY, overlayMaxX - overlayMinX, overlayMaxY - overlayMinY);
+            overlayMinX = Double.NaN;
+        }
+        if (currentHighlightedChar == '\0' || !isFinalTreeShown()) return;
 
-        if (currentHighlightedChar != '\0') {
-            drawHighlightedPath(gc, root, positions, currentHighlightedChar);
+        if (cachedPathChar != currentHighlightedChar || cachedPath == null || cachedPath.get(0) != huffmanTree.getRoot()) {
+            cachedPath = findPath(huffmanTree.getRoot(), currentHighlightedChar);
+            cachedPathChar = currentHighlightedChar;
         }
+        if (cachedPath == null) return;
 
-        drawAllNodes(gc, positions);
+        String code = huffmanTree.getCode().get(currentHighlightedChar);
+        drawHighlightedPath(gc, cachedPath, code);
 
-        if (currentHighlightedChar != '\0') {
-            String code = huffmanTree.getCode().get(currentHighlightedChar);
-            if (code != null) {
-                gc.setFill(HIGHLIGHT_COLOR);
-                gc.setFont(Font.font("Arial", FontWeight.BOLD, 20));
-                String displayText = formatCharacterForDisplay(currentHighlightedChar) + " = " + code;
-                double textWidth = displayText.length() * 12;
-                gc.fillText(displayText, CANVAS_WIDTH / 2 - textWidth / 2, CANVAS_HEIGHT - 30);
-            }
+        gc.setFill(HIGHLIGHT_COLOR);
+        gc.setFont(Font.font("Arial", FontWeight.BOLD, 20));
+        String displayText = formatCharacterForDisplay(currentHighlightedChar) + " = " + code;
+        double textWidth = displayText.length() * 12;
+        gc.fillText(displayText, overlayCanvas.getWidth() / 2 - textWidth / 2, overlayCanvas.getHeight() - 30);
+        markOverlay(0, overlayCanvas.getHeight() - 60, overlayCanvas.getWidth(), overlayCanvas.getHeight());
+    }
+
+    private void markOverlay(double x0, double y0, double x1, double y1) {
+        if (Double.isNaN(overlayMinX)) {
+            overlayMinX = x0;
+            overlayMinY = y0;
+            overlayMaxX = x1;
+            overlayMaxY = y1;
+        } else {
+            overlayMinX = Math.min(overlayMinX, x0);
+            overlayMinY = Math.min(overlayMinY, y0);
+            overlayMaxX = Math.max(overlayMaxX, x1);
+            overlayMaxY = Math.max(overlayMaxY, y1);
         }
     }
 
-    private void drawHighlightedPath(GraphicsContext gc, HuffmanNode root, Map<HuffmanNode, NodePosition> positions, char targetChar) {
+    // nodes from the root to the leaf of targetChar, null when it has no code
+    private List<HuffmanNode> findPath(HuffmanNode root, char targetChar) {
         String code = huffmanTree.getCode().get(targetChar);
-        if (code == null) return;
+        if (code == null) return null;
 
         HuffmanNode current = root;
         List<HuffmanNode> pathNodes = new ArrayList<>();
@@ -856,6 +974,13 @@ public class HuffmanTreeVisualizer extends Application {
                 pathNodes.add(current);
             }
         }
+        return pathNodes;
+    }
+
+    private void drawHighlightedPath(GraphicsContext gc, List<HuffmanNode> pathNodes, String code) {
+        TreeLayout layout = treeRenderer.getLayout();
+        double radius = treeRenderer.radius();
+        double margin = radius + 14;
 
         gc.setStroke(PATH_COLOR);
         gc.setLineWidth(4);
@@ -863,148 +988,66 @@ public class HuffmanTreeVisualizer extends Application {
 
         for (int i = 0; i < pathNodes.size() - 1; i++) {
             if (i * 2 < animationStep) {
-                NodePosition start = positions.get(pathNodes.get(i));
-                NodePosition end = positions.get(pathNodes.get(i + 1));
+                int start = layout.indexOf(pathNodes.get(i));
+                int end = layout.indexOf(pathNodes.get(i + 1));
 
-                if (start != null && end != null) {
+                if (start >= 0 && end >= 0) {
+                    double startX = treeRenderer.screenX(start), startY = treeRenderer.screenY(start);
+                    double endX = treeRenderer.screenX(end), endY = treeRenderer.screenY(end);
                     gc.setStroke(PATH_COLOR);
                     gc.setLineWidth(4);
-                    gc.strokeLine(start.x, start.y + NODE_RADIUS, end.x, end.y - NODE_RADIUS);
+                    gc.strokeLine(startX, startY + radius, endX, endY - radius);
 
                     String bit = String.valueOf(code.charAt(i));
-                    gc.setFill(HIGHLIGHT_COLOR);
                     gc.setFont(Font.font("Arial", FontWeight.BOLD, 14));
-                    double labelX = (start.x + end.x) / 2;
-                    double labelY = (start.y + end.y) / 2;
+                    double labelX = (startX + endX) / 2;
+                    double labelY = (startY + endY) / 2;
 
                     gc.setFill(HIGHLIGHT_COLOR.deriveColor(0, 1, 1, 0.2));
                     gc.fillOval(labelX - 12, labelY - 12, 24, 24);
 
                     gc.setFill(HIGHLIGHT_COLOR);
                     gc.fillText(bit, labelX - 4, labelY + 4);
+                    markOverlay(Math.min(startX, endX) - margin, startY - margin, Math.max(startX, endX) + margin, endY + margin);
                 }
             }
         }
 
-        if (!pathNodes.isEmpty() && animationStep >= code.length() * 2) {
-            NodePosition finalPos = positions.get(pathNodes.get(pathNodes.size() - 1));
-            if (finalPos != null) {
-                gc.setStroke(HIGHLIGHT_COLOR);
-                gc.setLineWidth(3);
-                gc.setLineDashes(new double[]{5, 5});
-                gc.strokeOval(finalPos.x - NODE_RADIUS - 8, finalPos.y - NODE_RADIUS - 8,
-                        (NODE_RADIUS + 8) * 2, (NODE_RADIUS + 8) * 2);
-            }
-        }
-    }
-
-    private void calculateTreePositions(HuffmanNode node, Map<HuffmanNode, NodePosition> positions,
-                                        double x, double y, double offset, double verticalSpacing) {
-        if (node == null) return;
-
-        positions.put(node, new NodePosition(x, y));
-
-        if (node.getLeft() != null) {
-            double childOffset = offset * 0.6;
-            calculateTreePositions(node.getLeft(), positions, x - childOffset, y + verticalSpacing,
-                    childOffset, verticalSpacing);
-        }
-
-        if (node.getRight() != null) {
-            double childOffset = offset * 0.6;
-            calculateTreePositions(node.getRight(), positions, x + childOffset, y + verticalSpacing,
-                    childOffset, verticalSpacing);
-        }
-    }
-
-    private void drawTreeLines(GraphicsContext gc, HuffmanNode node, Map<HuffmanNode, NodePosition> positions) {
-        if (node == null) return;
-
-        NodePosition pos = positions.get(node);
-
-        gc.setStroke(LINE_COLOR);
-        gc.setLineWidth(1.5);
-        gc.setLineDashes(null);
-
-        if (node.getLeft() != null) {
-            NodePosition leftPos = positions.get(node.getLeft());
-            gc.strokeLine(pos.x, pos.y + NODE_RADIUS, leftPos.x, leftPos.y - NODE_RADIUS);
-
-            gc.setFill(Color.web("#7F8C8D"));
-            gc.setFont(Font.font("Arial", FontWeight.NORMAL, 12));
-            gc.fillText("0", (pos.x + leftPos.x) / 2 - 8, (pos.y + leftPos.y) / 2);
-        }
-
-        if (node.getRight() != null) {
-            NodePosition rightPos = positions.get(node.getRight());
-            gc.strokeLine(pos.x, pos.y + NODE_RADIUS, rightPos.x, rightPos.y - NODE_RADIUS);
-
-            gc.setFill(Color.web("#7F8C8D"));
-            gc.setFont(Font.font("Arial", FontWeight.NORMAL, 12));
-            gc.fillText("1", (pos.x + rightPos.x) / 2 + 5, (pos.y + rightPos.y) / 2);
-        }
-
-        drawTreeLines(gc, node.getLeft(), positions);
-        drawTreeLines(gc, node.getRight(), positions);
-    }
-
-    private void drawAllNodes(GraphicsContext gc, Map<HuffmanNode, NodePosition> positions) {
-        for (Map.Entry<HuffmanNode, NodePosition> entry : positions.entrySet()) {
-            drawTreeNode(gc, entry.getKey(), entry.getValue().x, entry.getValue().y);
-        }
-    }
-
-    private void drawTreeNode(GraphicsContext gc, HuffmanNode node, double x, double y) {
-        boolean isLeaf = node.isLeaf();
-        boolean isHighlighted = currentHighlightedChar != '\0' && isLeaf && node.getCharacter() == currentHighlightedChar;
-
-        Color nodeColor = isHighlighted ? HIGHLIGHT_COLOR : (isLeaf ? LEAF_COLOR : NODE_COLOR);
-        gc.setFill(nodeColor);
-        gc.fillOval(x - NODE_RADIUS, y - NODE_RADIUS, NODE_RADIUS * 2, NODE_RADIUS * 2);
-
-        gc.setStroke(Color.web("#2C3E50"));
-        gc.setLineWidth(2);
-        gc.strokeOval(x - NODE_RADIUS, y - NODE_RADIUS, NODE_RADIUS * 2, NODE_RADIUS * 2);
-
-        String charText = isLeaf ? formatCharacter(node.getCharacter()) : "•";
-        String freqText = String.valueOf(node.getFrequency());
-
-        gc.setFill(TEXT_COLOR);
-        gc.setFont(Font.font("Arial", FontWeight.BOLD, isLeaf ? 12 : 11));
-        gc.fillText(charText, x - 5, y - 5);
-
-        gc.setFont(Font.font("Arial", FontWeight.NORMAL, 10));
-        gc.fillText(freqText, x - 8, y + 12);
-    }
-
-    private String formatCharacter(char c) {
-        switch (c) {
-            case ' ': return "␣";
-            case '\n': return "↵";
-            case '\t': return "→";
-            case '\r': return "¶";
-            default:
-                if (c < 32 || c > 126) return "�";
-                return String.valueOf(c);
+        int last = layout.indexOf(pathNodes.get(pathNodes.size() - 1));
+        if (last < 0) return;
+        double x = treeRenderer.screenX(last), y = treeRenderer.screenY(last);
+        TreeRenderer.drawNode(gc, pathNodes.get(pathNodes.size() - 1), x, y, radius, true);
+        markOverlay(x - margin, y - margin, x + margin, y + margin);
+
+        if (animationStep >= code.length() * 2) {
+            gc.setStroke(HIGHLIGHT_COLOR);
+            gc.setLineWidth(3);
+            gc.setLineDashes(new double[]{5, 5});
+            gc.strokeOval(x - radius - 8, y - radius - 8, (radius + 8) * 2, (radius + 8) * 2);
+            gc.setLineDashes(null);
         }
     }
 
     private void drawNodeList(GraphicsContext gc, List<HuffmanNode> nodes) {
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
         int nodeCount = nodes.size();
-        int spacing = Math.min(150, (CANVAS_WIDTH - 200) / Math.max(1, nodeCount));
-        int startX = (CANVAS_WIDTH - (nodeCount - 1) * spacing) / 2;
-        int y = CANVAS_HEIGHT / 2;
+        double spacing = Math.min(150, (width - 200) / Math.max(1, nodeCount));
+        double startX = (width - (nodeCount - 1) * spacing) / 2;
+        double y = height / 2;
+        // shrink the nodes when the list is too long for them to sit side by side
+        double radius = Math.max(2, Math.min(NODE_RADIUS, spacing / 2 - 2));
 
         for (int i = 0; i < nodeCount; i++) {
             double x = startX + i * spacing;
-            drawTreeNode(gc, nodes.get(i), x, y);
+            TreeRenderer.drawNode(gc, nodes.get(i), x, y, radius, false);
         }
 
         if (nodeCount > 1) {
             gc.setFill(Color.web("#7F8C8D"));
             gc.setFont(Font.font("Arial", FontWeight.BOLD, 14));
             gc.fillText("Étape " + (currentStep + 1) + " - " + nodeCount + " nœuds à fusionner",
-                    CANVAS_WIDTH / 2 - 100, CANVAS_HEIGHT - 50);
+                    width / 2 - 100, height - 50);
         }
     }
 
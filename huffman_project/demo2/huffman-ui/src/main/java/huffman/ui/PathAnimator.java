@@ -0,0 +1,111 @@
+package huffman.ui;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+// Single scheduler for path animations and auto-play, driven by the JavaFX pulse.
+// The step shown is derived from the elapsed time, so a slow frame skips steps
+// (one draw per frame) instead of stretching the animation.
+class PathAnimator extends AnimationTimer {
+
+    interface Listener {
+        void characterStarted(char c, int index, int count);
+
+        void stepChanged(int step);
+
+        void characterFinished(char c, int index, int count);
+    }
+
+    private final Listener listener;
+    private List<Character> queue = List.of();
+    private ToIntFunction<Character> stepCount;
+    private int index;
+    private int steps;
+    private int step;
+    private long stepNanos;
+    private long gapNanos;
+    private double speed = 1;
+    // scaled time spent on the current character
+    private double position;
+    private long lastPulse;
+    private boolean playing;
+
+    PathAnimator(Listener listener) {
+        this.listener = listener;
+    }
+
+    // plays every character of chars in turn; stepCount gives the number of steps of one character
+    void play(List<Character> chars, ToIntFunction<Character> stepCount, long stepMillis, long gapMillis) {
+        stop();
+        if (chars.isEmpty()) return;
+        this.queue = chars;
+        this.stepCount = stepCount;
+        this.stepNanos = stepMillis * 1_000_000L;
+        this.gapNanos = gapMillis * 1_000_000L;
+        this.index = 0;
+        this.position = 0;
+        this.lastPulse = -1;
+        this.playing = true;
+        begin();
+        start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        playing = false;
+    }
+
+    boolean isPlaying() {
+        return playing;
+    }
+
+    void setSpeed(double speed) {
+        this.speed = speed;
+    }
+
+    double getSpeed() {
+        return speed;
+    }
+
+    @Override
+    public void handle(long now) {
+        if (lastPulse < 0) lastPulse = now;
+        position += (now - lastPulse) * speed;
+        lastPulse = now;
+
+        // a character (and the gap after it) may be over several times on a very late frame
+        long length = steps * stepNanos + gapNanos;
+        while (position >= length) {
+            position -= length;
+            if (step < steps) {
+                step = steps;
+                listener.stepChanged(step);
+            }
+            listener.characterFinished(queue.get(index), index, queue.size());
+            if (!playing) return;
+            index++;
+            if (index >= queue.size()) {
+                stop();
+                return;
+            }
+            begin();
+            length = steps * stepNanos + gapNanos;
+        }
+
+        int target = (int) Math.min(steps, (long) (position / stepNanos) + 1);
+        if (target > step) {
+            step = target;
+            listener.stepChanged(step);
+        }
+    }
+
+    private void begin() {
+        char c = queue.get(index);
+        steps = stepCount.applyAsInt(c);
+        step = 0;
+        listener.characterStarted(c, index, queue.size());
+    }
+}
@@ -0,0 +1,89 @@
+package huffman.ui;
+
+import huffman.model.HuffmanNode;
+
+import java.util.IdentityHashMap;
+
+// World coordinates of every node of a tree, computed once per tree. Leaves are evenly spaced
+// from left to right, each parent sits over the middle of its children and each level is
+// LEVEL_HEIGHT below the previous one. Nodes are numbered in preorder, so the subtree of node i
+// is the range [i, end[i]) and its bounding box is [minX[i], maxX[i]] x [y[i], maxY[i]].
+class TreeLayout {
+    static final double LEAF_SPACING = 50;
+    static final double LEVEL_HEIGHT = 100;
+
+    final HuffmanNode[] nodes;
+    final double[] x;
+    final double[] y;
+    final double[] minX;
+    final double[] maxX;
+    final double[] maxY;
+    final int[] left;
+    final int[] right;
+    final int[] end;
+    final int[] leaves;
+    private final IdentityHashMap<HuffmanNode, Integer> ids;
+    private int nextId;
+    private double nextLeafX;
+
+    TreeLayout(HuffmanNode root) {
+        int n = count(root);
+        nodes = new HuffmanNode[n];
+        x = new double[n];
+        y = new double[n];
+        minX = new double[n];
+        maxX = new double[n];
+        maxY = new double[n];
+        left = new int[n];
+        right = new int[n];
+        end = new int[n];
+        leaves = new int[n];
+        ids = new IdentityHashMap<>(n * 2);
+        place(root, 0);
+    }
+
+    int size() { return nodes.length; }
+
+    // -1 when the node is not part of this tree
+    int indexOf(HuffmanNode node) {
+        Integer id = ids.get(node);
+        return id == null ? -1 : id;
+    }
+
+    boolean isLeaf(int id) { return left[id] < 0 && right[id] < 0; }
+
+    double getWidth() { return maxX[0] - minX[0]; }
+    double getHeight() { return maxY[0]; }
+
+    private static int count(HuffmanNode node) {
+        if (node == null) return 0;
+        return 1 + count(node.getLeft()) + count(node.getRight());
+    }
+
+    private int place(HuffmanNode node, int depth) {
+        int id = nextId++;
+        nodes[id] = node;
+        ids.put(node, id);
+        y[id] = depth * LEVEL_HEIGHT;
+        left[id] = node.getLeft() != null ? place(node.getLeft(), depth + 1) : -1;
+        right[id] = node.getRight() != null ? place(node.getRight(), depth + 1) : -1;
+        end[id] = nextId;
+
+        if (left[id] < 0 && right[id] < 0) {
+            x[id] = nextLeafX;
+            nextLeafX += LEAF_SPACING;
+            minX[id] = maxX[id] = x[id];
+            maxY[id] = y[id];
+            leaves[id] = 1;
+            return id;
+        }
+        int first = left[id] >= 0 ? left[id] : right[id];
+        int last = right[id] >= 0 ? right[id] : left[id];
+        x[id] = (x[first] + x[last]) / 2;
+        minX[id] = Math.min(x[id], minX[first]);
+        maxX[id] = Math.max(x[id], maxX[last]);
+        maxY[id] = Math.max(maxY[first], maxY[last]);
+        leaves[id] = leaves[first] + (first != last ? leaves[last] : 0);
+        return id;
+    }
+}
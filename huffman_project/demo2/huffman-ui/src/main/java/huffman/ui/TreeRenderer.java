@@ -0,0 +1,180 @@
+package huffman.ui;
+
+import huffman.model.HuffmanNode;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+// Draws a TreeLayout through a zoomable, pannable viewport (screen = world * scale + offset).
+// Subtrees whose bounding box misses the visible rectangle are skipped, and subtrees narrower
+// than COLLAPSE_WIDTH pixels are drawn as a single triangle, so the cost of a frame follows
+// what is visible rather than the size of the alphabet.
+class TreeRenderer {
+    static final double NODE_RADIUS = 20;
+    static final Color NODE_COLOR = Color.web("#3498db");
+    static final Color LEAF_COLOR = Color.web("#2ecc71");
+    static final Color TEXT_COLOR = Color.WHITE;
+    static final Color LINE_COLOR = Color.web("#34495e");
+    static final Color HIGHLIGHT_COLOR = Color.web("#E74C3C");
+
+    private static final double COLLAPSE_WIDTH = 24;
+    private static final double MIN_SCALE = 0.005;
+    private static final double MAX_SCALE = 4;
+    private static final double MARGIN = 60;
+
+    private TreeLayout layout;
+    private double scale = 1;
+    private double offsetX;
+    private double offsetY;
+    private boolean fitted;
+
+    // the viewport is fitted to the new tree on the next render
+    void setLayout(TreeLayout layout) {
+        this.layout = layout;
+        this.fitted = false;
+    }
+
+    TreeLayout getLayout() { return layout; }
+    double getScale() { return scale; }
+    double radius() { return NODE_RADIUS * scale; }
+    double screenX(int id) { return layout.x[id] * scale + offsetX; }
+    double screenY(int id) { return layout.y[id] * scale + offsetY; }
+
+    // whole tree in view, never enlarged past its natural size
+    void fit(double width, double height) {
+        if (layout == null || width <= 0 || height <= 0) return;
+        double sx = (width - 2 * MARGIN) / Math.max(1, layout.getWidth() + 2 * NODE_RADIUS);
+        double sy = (height - 2 * MARGIN) / Math.max(1, layout.getHeight() + 2 * NODE_RADIUS);
+        scale = clamp(Math.min(1, Math.min(sx, sy)));
+        offsetX = width / 2 - (layout.minX[0] + layout.getWidth() / 2) * scale;
+        offsetY = MARGIN + NODE_RADIUS * scale;
+        fitted = true;
+    }
+
+    // zooms around the screen point (px, py), which stays over the same spot of the tree
+    void zoom(double factor, double px, double py) {
+        double next = clamp(scale * factor);
+        offsetX = px - (px - offsetX) * next / scale;
+        offsetY = py - (py - offsetY) * next / scale;
+        scale = next;
+    }
+
+    void pan(double dx, double dy) {
+        offsetX += dx;
+        offsetY += dy;
+    }
+
+    private static double clamp(double s) {
+        return Math.max(MIN_SCALE, Math.min(MAX_SCALE, s));
+    }
+
+    void render(GraphicsContext gc, double width, double height, HuffmanNode highlighted) {
+        if (layout == null) return;
+        if (!fitted) fit(width, height);
+        int target = highlighted == null ? -1 : layout.indexOf(highlighted);
+        double pad = NODE_RADIUS * 2;
+        double x0 = (-offsetX) / scale - pad;
+        double x1 = (width - offsetX) / scale + pad;
+        double y0 = (-offsetY) / scale - pad;
+        double y1 = (height - offsetY) / scale + pad;
+
+        gc.setLineDashes(null);
+        drawEdges(gc, 0, x0, x1, y0, y1);
+        drawNodes(gc, 0, x0, x1, y0, y1, target);
+    }
+
+    private boolean outside(int id, double x0, double x1, double y0, double y1) {
+        return layout.maxX[id] < x0 || layout.minX[id] > x1 || layout.maxY[id] < y0 || layout.y[id] > y1;
+    }
+
+    private boolean collapsed(int id) {
+        return !layout.isLeaf(id) && (layout.maxX[id] - layout.minX[id]) * scale < COLLAPSE_WIDTH;
+    }
+
+    private void drawEdges(GraphicsContext gc, int id, double x0, double x1, double y0, double y1) {
+        if (outside(id, x0, x1, y0, y1) || collapsed(id)) return;
+        double r = radius();
+        boolean labels = scale >= 0.5;
+        gc.setStroke(LINE_COLOR);
+        gc.setLineWidth(Math.max(0.5, 1.5 * Math.min(1, scale)));
+        for (int side = 0; side < 2; side++) {
+            int child = side == 0 ? layout.left[id] : layout.right[id];
+            if (child < 0) continue;
+            double px = screenX(id), py = screenY(id), cx = screenX(child), cy = screenY(child);
+            gc.strokeLine(px, py + r, cx, cy - r);
+            if (labels) {
+                gc.setFill(Color.web("#7F8C8D"));
+                gc.setFont(Font.font("Arial", FontWeight.NORMAL, 12 * scale));
+                gc.fillText(side == 0 ? "0" : "1", (px + cx) / 2 + (side == 0 ? -8 : 5) * scale, (py + cy) / 2);
+            }
+            drawEdges(gc, child, x0, x1, y0, y1);
+        }
+    }
+
+    private void drawNodes(GraphicsContext gc, int id, double x0, double x1, double y0, double y1, int target) {
+        if (outside(id, x0, x1, y0, y1)) return;
+        if (collapsed(id)) {
+            drawAggregate(gc, id, target >= id && target < layout.end[id]);
+            return;
+        }
+        if (layout.left[id] >= 0) drawNodes(gc, layout.left[id], x0, x1, y0, y1, target);
+        if (layout.right[id] >= 0) drawNodes(gc, layout.right[id], x0, x1, y0, y1, target);
+        drawNode(gc, layout.nodes[id], screenX(id), screenY(id), radius(), id == target);
+    }
+
+    // a subtree too narrow to draw node by node: a triangle from its root down to its deepest level
+    private void drawAggregate(GraphicsContext gc, int id, boolean containsTarget) {
+        double top = screenY(id);
+        double bottom = layout.maxY[id] * scale + offsetY;
+        double l = layout.minX[id] * scale + offsetX;
+        double r = layout.maxX[id] * scale + offsetX;
+        Color color = containsTarget ? HIGHLIGHT_COLOR : NODE_COLOR;
+        gc.setFill(color.deriveColor(0, 1, 1, 0.35));
+        gc.fillPolygon(new double[]{screenX(id), l, r}, new double[]{top, bottom, bottom}, 3);
+        gc.setStroke(color);
+        gc.setLineWidth(1);
+        gc.strokePolygon(new double[]{screenX(id), l, r}, new double[]{top, bottom, bottom}, 3);
+        if (bottom - top > 30) {
+            gc.setFill(LINE_COLOR);
+            gc.setFont(Font.font("Arial", FontWeight.BOLD, 10));
+            gc.fillText(String.valueOf(layout.leaves[id]), screenX(id) - 6, (top + bottom) / 2 + 4);
+        }
+    }
+
+    // labels are dropped once the node is too small to read them
+    static void drawNode(GraphicsContext gc, HuffmanNode node, double x, double y, double radius, boolean highlighted) {
+        boolean isLeaf = node.isLeaf();
+        Color nodeColor = highlighted ? HIGHLIGHT_COLOR : (isLeaf ? LEAF_COLOR : NODE_COLOR);
+        gc.setFill(nodeColor);
+        gc.fillOval(x - radius, y - radius, radius * 2, radius * 2);
+        if (radius < 4) return;
+
+        gc.setStroke(Color.web("#2C3E50"));
+        gc.setLineWidth(Math.min(2, radius / 10));
+        gc.strokeOval(x - radius, y - radius, radius * 2, radius * 2);
+        if (radius < 10) return;
+
+        double k = radius / NODE_RADIUS;
+        String charText = isLeaf ? formatCharacter(node) : "•";
+        gc.setFill(TEXT_COLOR);
+        gc.setFont(Font.font("Arial", FontWeight.BOLD, (isLeaf ? 12 : 11) * k));
+        gc.fillText(charText, x - 5 * k, y - 5 * k);
+
+        gc.setFont(Font.font("Arial", FontWeight.NORMAL, 10 * k));
+        gc.fillText(String.valueOf(node.getFrequency()), x - 8 * k, y + 12 * k);
+    }
+
+    private static String formatCharacter(HuffmanNode node) {
+        char c = node.getCharacter();
+        switch (c) {
+            case ' ': return "␣";
+            case '\n': return "↵";
+            case '\t': return "→";
+            case '\r': return "¶";
+            default:
+                if (c < 32 || c > 126) return "�";
+                return String.valueOf(c);
+        }
+    }
+}
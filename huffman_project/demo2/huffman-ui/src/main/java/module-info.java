@@ -2,10 +2,9 @@ module com.example.demo2 {
     requires javafx.controls;
     requires javafx.graphics;
     requires javafx.fxml;
+    requires huffman.core;
 
     exports huffman.ui;
-    exports huffman.algorithm;
-    exports huffman.model;
 
     opens huffman.ui to javafx.graphics;
-}
\ No newline at end of file
+}